@@ -0,0 +1,44 @@
+package com.talentreef.interviewquestions.takehome.benchmarks;
+
+import com.talentreef.interviewquestions.takehome.models.Widget;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.services.WidgetMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping cost in {@link WidgetMapper}, which every list, export and write path goes
+ * through once per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WidgetMappingBenchmark {
+
+    private Widget widget;
+    private WidgetDTO dto;
+
+    @Setup
+    public void setUp() {
+        widget = Widget.builder()
+                .id(1L)
+                .name("Benchmark Widget")
+                .description("x".repeat(500))
+                .price(new BigDecimal("99.99"))
+                .version(3L)
+                .build();
+        dto = WidgetMapper.toDTO(widget);
+    }
+
+    @Benchmark
+    public WidgetDTO toDTO() {
+        return WidgetMapper.toDTO(widget);
+    }
+
+    @Benchmark
+    public Widget toEntity() {
+        return WidgetMapper.toEntity(dto);
+    }
+}
@@ -0,0 +1,87 @@
+package com.talentreef.interviewquestions.takehome.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encode/decode of {@code List<WidgetDTO>} payloads of the sizes list endpoints return,
+ * in each negotiable wire format. {@code serialize} also reports the {@code ·bytes} and
+ * {@code ·payloads} counters; their ratio is the encoded payload size, so the results file carries
+ * the byte comparison next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WidgetSerializationBenchmark {
+
+    private static final TypeReference<List<WidgetDTO>> WIDGET_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<WidgetDTO> widgets;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            default -> new ObjectMapper();
+        };
+        widgets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            widgets.add(WidgetDTO.builder()
+                    .id((long) i)
+                    .name("Widget " + i)
+                    .description("Description of widget number " + i + ", long enough to be realistic.")
+                    .price(new BigDecimal("19.99"))
+                    .version(0L)
+                    .build());
+        }
+        encoded = objectMapper.writeValueAsBytes(widgets);
+    }
+
+    /** Secondary results for {@link #serialize}: bytes written and payloads encoded in the iteration. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+
+        public long bytes;
+        public long payloads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            payloads = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize(EncodedSize counters) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(widgets);
+        counters.bytes += payload.length;
+        counters.payloads++;
+        return payload;
+    }
+
+    @Benchmark
+    public List<WidgetDTO> deserialize() throws IOException {
+        return objectMapper.readValue(encoded, WIDGET_LIST);
+    }
+}
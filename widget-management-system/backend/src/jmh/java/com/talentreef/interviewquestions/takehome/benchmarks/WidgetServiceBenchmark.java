@@ -0,0 +1,84 @@
+package com.talentreef.interviewquestions.takehome.benchmarks;
+
+import com.talentreef.interviewquestions.InterviewQuestionsApplication;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetPage;
+import com.talentreef.interviewquestions.takehome.services.WidgetService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service CRUD paths against the in-memory H2 datasource, with the name cache on and off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WidgetServiceBenchmark {
+
+    private static final int SEED_WIDGETS = 1_000;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private WidgetService widgetService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Passed as arguments, not builder defaults, so they override application.yml (whose debug
+        // root level would otherwise win over logback.xml and log inside every measured call).
+        context = new SpringApplicationBuilder(InterviewQuestionsApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh-" + cacheEnabled + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=warn",
+                        "--widgets.cache.enabled=" + cacheEnabled);
+        widgetService = context.getBean(WidgetService.class);
+        for (int i = 0; i < SEED_WIDGETS; i++) {
+            widgetService.createWidget(widget("seed-" + i, "10.00"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public WidgetDTO getWidgetByName() {
+        return widgetService.getWidgetByName("seed-" + (sequence.incrementAndGet() % SEED_WIDGETS));
+    }
+
+    @Benchmark
+    public WidgetPage getWidgetPage() {
+        return widgetService.getWidgetPage(null, 50);
+    }
+
+    @Benchmark
+    public WidgetDTO updateWidget() {
+        long n = sequence.incrementAndGet();
+        return widgetService.updateWidget("seed-" + (n % SEED_WIDGETS), widget(null, (1 + n % 100) + ".00"));
+    }
+
+    @Benchmark
+    public void createAndDeleteWidget() {
+        String name = "bench-" + sequence.incrementAndGet();
+        widgetService.createWidget(widget(name, "10.00"));
+        widgetService.deleteWidget(name);
+    }
+
+    private static WidgetDTO widget(String name, String price) {
+        return WidgetDTO.builder()
+                .name(name)
+                .description("Benchmark widget.")
+                .price(new BigDecimal(price))
+                .build();
+    }
+}
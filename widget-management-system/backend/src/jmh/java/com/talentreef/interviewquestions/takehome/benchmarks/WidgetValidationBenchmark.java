@@ -0,0 +1,57 @@
+package com.talentreef.interviewquestions.takehome.benchmarks;
+
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of {@link WidgetDTO}, for both a valid payload and one violating every constraint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WidgetValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private WidgetDTO valid;
+    private WidgetDTO invalid;
+
+    @Setup
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        valid = WidgetDTO.builder()
+                .name("Benchmark Widget")
+                .description("A perfectly valid widget.")
+                .price(new BigDecimal("99.99"))
+                .build();
+        invalid = WidgetDTO.builder()
+                .name("ab")
+                .description("abc")
+                .price(new BigDecimal("0.999"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<WidgetDTO>> validateValid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<WidgetDTO>> validateInvalid() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,63 @@
+package com.talentreef.interviewquestions.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Load-test settings, read from {@code loadtest.*} system properties:
+ * <ul>
+ *   <li>{@code loadtest.model} - {@code closed} (fixed concurrency) or {@code open} (fixed arrival rate)</li>
+ *   <li>{@code loadtest.concurrency} - workers in the closed model</li>
+ *   <li>{@code loadtest.rate} - requests per second in the open model</li>
+ *   <li>{@code loadtest.warmupSeconds}, {@code loadtest.durationSeconds}</li>
+ *   <li>{@code loadtest.seedWidgets} - widgets created before the run</li>
+ *   <li>{@code loadtest.mix} - operation weights, e.g. {@code get=60,list=15,post=10,put=10,delete=5}</li>
+ *   <li>{@code loadtest.app.*} - passed to the application with the prefix removed</li>
+ * </ul>
+ */
+record LoadTestConfig(Model model, int concurrency, int rate, Duration warmup, Duration duration,
+                      int seedWidgets, Map<Operation, Integer> mix, Map<String, String> appProperties) {
+
+    enum Model { CLOSED, OPEN }
+
+    private static final String PREFIX = "loadtest.";
+    private static final String APP_PREFIX = PREFIX + "app.";
+
+    static LoadTestConfig fromSystemProperties() {
+        Properties props = System.getProperties();
+        Map<String, String> app = new LinkedHashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            if (key.startsWith(APP_PREFIX)) {
+                app.put(key.substring(APP_PREFIX.length()), props.getProperty(key));
+            }
+        }
+        return new LoadTestConfig(
+                Model.valueOf(props.getProperty(PREFIX + "model", "closed").toUpperCase(Locale.ROOT)),
+                Integer.parseInt(props.getProperty(PREFIX + "concurrency", "64")),
+                Integer.parseInt(props.getProperty(PREFIX + "rate", "500")),
+                Duration.ofSeconds(Long.parseLong(props.getProperty(PREFIX + "warmupSeconds", "5"))),
+                Duration.ofSeconds(Long.parseLong(props.getProperty(PREFIX + "durationSeconds", "30"))),
+                Integer.parseInt(props.getProperty(PREFIX + "seedWidgets", "500")),
+                parseMix(props.getProperty(PREFIX + "mix", "get=60,list=15,post=10,put=10,delete=5")),
+                app);
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + part);
+            }
+            mix.put(Operation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(kv[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("loadtest.mix must have a positive total weight");
+        }
+        return mix;
+    }
+}
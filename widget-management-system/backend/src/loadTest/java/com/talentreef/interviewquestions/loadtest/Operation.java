@@ -0,0 +1,4 @@
+package com.talentreef.interviewquestions.loadtest;
+
+/** Request types in the mixed workload against {@code /v1/widgets}. */
+enum Operation { GET, LIST, POST, PUT, DELETE }
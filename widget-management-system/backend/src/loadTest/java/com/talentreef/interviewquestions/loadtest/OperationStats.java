@@ -0,0 +1,64 @@
+package com.talentreef.interviewquestions.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Latency histogram (microseconds) and outcome counters for one operation. */
+final class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    final LongAdder ok = new LongAdder();
+    final LongAdder clientErrors = new LongAdder();
+    final LongAdder serverErrors = new LongAdder();
+    final LongAdder failures = new LongAdder();
+
+    void record(long latencyNanos, int status) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (status < 0) {
+            failures.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            ok.increment();
+        }
+    }
+
+    void add(OperationStats other) {
+        latency.add(other.latency);
+        ok.add(other.ok.sum());
+        clientErrors.add(other.clientErrors.sum());
+        serverErrors.add(other.serverErrors.sum());
+        failures.add(other.failures.sum());
+    }
+
+    Map<String, Object> toMap(double seconds) {
+        long count = latency.getTotalCount();
+        Map<String, Object> latencyMicros = new LinkedHashMap<>();
+        latencyMicros.put("p50", latency.getValueAtPercentile(50));
+        latencyMicros.put("p90", latency.getValueAtPercentile(90));
+        latencyMicros.put("p99", latency.getValueAtPercentile(99));
+        latencyMicros.put("p99.9", latency.getValueAtPercentile(99.9));
+        latencyMicros.put("max", latency.getMaxValue());
+        latencyMicros.put("mean", latency.getMean());
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", count);
+        map.put("throughputPerSecond", count / seconds);
+        map.put("ok", ok.sum());
+        map.put("clientErrors", clientErrors.sum());
+        map.put("serverErrors", serverErrors.sum());
+        map.put("failures", failures.sum());
+        map.put("errorRate", count == 0 ? 0.0 : (serverErrors.sum() + failures.sum()) / (double) count);
+        map.put("latencyMicros", latencyMicros);
+        return map;
+    }
+}
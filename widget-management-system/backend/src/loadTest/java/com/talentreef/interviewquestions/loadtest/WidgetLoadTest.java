@@ -0,0 +1,230 @@
+package com.talentreef.interviewquestions.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.talentreef.interviewquestions.InterviewQuestionsApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Self-contained load test for {@code /v1/widgets}. Boots {@link InterviewQuestionsApplication} on a
+ * random port, seeds widgets, runs a warm-up and a measured phase, and writes {@code report.json},
+ * {@code report.txt} and one HdrHistogram percentile file per operation.
+ *
+ * <p>In the open model requests are issued on a fixed schedule and latency is measured from each
+ * request's intended start, so a stalled server is not hidden by coordinated omission.
+ */
+public final class WidgetLoadTest {
+
+    private final LoadTestConfig config;
+    private final String base;
+    private final HttpClient client;
+    private final Operation[] weightedOperations;
+    private final Queue<String> createdNames = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private WidgetLoadTest(LoadTestConfig config, int port) {
+        this.config = config;
+        this.base = "http://localhost:" + port + "/v1/widgets";
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        List<Operation> weighted = new ArrayList<>();
+        config.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.weightedOperations = weighted.toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path reportDir = Path.of(args.length > 0 ? args[0] : "build/reports/loadtest");
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=warn"));
+        config.appProperties().forEach((key, value) -> appArgs.add("--" + key + "=" + value));
+
+        try (ConfigurableApplicationContext context =
+                     SpringApplication.run(InterviewQuestionsApplication.class, appArgs.toArray(String[]::new))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            WidgetLoadTest loadTest = new WidgetLoadTest(config, port);
+            loadTest.seed();
+            loadTest.run(config.warmup());
+            Map<Operation, OperationStats> stats = loadTest.run(config.duration());
+            loadTest.writeReport(reportDir, stats);
+        }
+    }
+
+    private void seed() {
+        for (int i = 0; i < config.seedWidgets(); i++) {
+            send(post("seed-" + i));
+        }
+    }
+
+    private Map<Operation, OperationStats> run(Duration duration) {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (config.model() == LoadTestConfig.Model.CLOSED) {
+                for (int worker = 0; worker < config.concurrency(); worker++) {
+                    pool.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            execute(nextOperation(), stats, System.nanoTime());
+                        }
+                    });
+                }
+            } else {
+                long intervalNanos = 1_000_000_000L / config.rate();
+                long start = System.nanoTime();
+                for (long i = 0; ; i++) {
+                    long intendedStart = start + i * intervalNanos;
+                    if (intendedStart >= deadline) {
+                        break;
+                    }
+                    long wait = intendedStart - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    Operation operation = nextOperation();
+                    pool.submit(() -> execute(operation, stats, intendedStart));
+                }
+            }
+        }
+        return stats;
+    }
+
+    private Operation nextOperation() {
+        return weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+    }
+
+    private void execute(Operation operation, Map<Operation, OperationStats> stats, long startNanos) {
+        String createdName = null;
+        HttpRequest request = switch (operation) {
+            case GET -> HttpRequest.newBuilder(URI.create(base + "/" + seededName())).GET().build();
+            case LIST -> HttpRequest.newBuilder(URI.create(base + "?limit=50")).GET().build();
+            case POST -> post(createdName = "load-" + sequence.incrementAndGet());
+            case PUT -> HttpRequest.newBuilder(URI.create(base + "/" + seededName()))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(
+                            body(null, ThreadLocalRandom.current().nextInt(1, 20000))))
+                    .build();
+            case DELETE -> {
+                String name = createdNames.poll();
+                yield HttpRequest.newBuilder(URI.create(base + "/" + (name == null ? "missing-widget" : name)))
+                        .DELETE()
+                        .build();
+            }
+        };
+        int status = send(request);
+        stats.get(operation).record(System.nanoTime() - startNanos, status);
+        if (createdName != null && status == 201) {
+            createdNames.add(createdName);
+        }
+    }
+
+    private String seededName() {
+        return "seed-" + ThreadLocalRandom.current().nextInt(Math.max(1, config.seedWidgets()));
+    }
+
+    private HttpRequest post(String name) {
+        return HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body(name, 10)))
+                .build();
+    }
+
+    private static String body(String name, int price) {
+        String namePart = name == null ? "\"name\":\"ignored\"," : "\"name\":\"" + name + "\",";
+        return "{" + namePart + "\"description\":\"Load test widget.\",\"price\":" + price + ".00}";
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            return -1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private void writeReport(Path reportDir, Map<Operation, OperationStats> stats) throws IOException {
+        double seconds = config.duration().toMillis() / 1000.0;
+        OperationStats overall = new OperationStats();
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            overall.add(entry.getValue());
+            operations.put(entry.getKey().name(), entry.getValue().toMap(seconds));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("model", config.model().name().toLowerCase());
+        report.put("concurrency", config.model() == LoadTestConfig.Model.CLOSED ? config.concurrency() : null);
+        report.put("targetRate", config.model() == LoadTestConfig.Model.OPEN ? config.rate() : null);
+        report.put("durationSeconds", seconds);
+        report.put("mix", config.mix());
+        report.put("appProperties", config.appProperties());
+        report.put("overall", overall.toMap(seconds));
+        report.put("operations", operations);
+
+        Files.createDirectories(reportDir);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportDir.resolve("report.json").toFile(), report);
+
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("model=%s duration=%.0fs%n", report.get("model"), seconds));
+        text.append(String.format("%-8s %10s %10s %9s %9s %9s %9s %9s%n",
+                "op", "count", "req/s", "errors", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)"));
+        appendLine(text, "ALL", overall, seconds);
+        stats.forEach((operation, operationStats) -> appendLine(text, operation.name(), operationStats, seconds));
+        Files.writeString(reportDir.resolve("report.txt"), text);
+        System.out.print(text);
+
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            Path hgrm = reportDir.resolve("latency-" + entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+                // Values are recorded in microseconds; scale the output to milliseconds.
+                entry.getValue().latency.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static void appendLine(StringBuilder text, String label, OperationStats stats, double seconds) {
+        long count = stats.latency.getTotalCount();
+        text.append(String.format("%-8s %10d %10.1f %9d %9.2f %9.2f %9.2f %9.2f%n",
+                label, count, count / seconds,
+                stats.serverErrors.sum() + stats.failures.sum(),
+                stats.latency.getValueAtPercentile(50) / 1000.0,
+                stats.latency.getValueAtPercentile(99) / 1000.0,
+                stats.latency.getValueAtPercentile(99.9) / 1000.0,
+                stats.latency.getMaxValue() / 1000.0));
+    }
+}
@@ -1,5 +1,12 @@
 package com.talentreef.interviewquestions.takehome;
 
+import com.talentreef.interviewquestions.takehome.exceptions.DeltaSyncUnavailableException;
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import com.talentreef.interviewquestions.takehome.exceptions.SyncTokenExpiredException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetAlreadyExistsException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetNotFoundException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetVersionMismatchException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -16,4 +23,37 @@ public class GlobalExceptionHandler {
         }
         return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
     }
+
+    @ExceptionHandler(WidgetNotFoundException.class)
+    public ResponseEntity<String> handleWidgetNotFoundException(WidgetNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(WidgetAlreadyExistsException.class)
+    public ResponseEntity<String> handleWidgetAlreadyExistsException(WidgetAlreadyExistsException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<String> handleInvalidRequestException(InvalidRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    public ResponseEntity<String> handleSyncTokenExpiredException(SyncTokenExpiredException ex) {
+        return ResponseEntity.status(HttpStatus.GONE).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(DeltaSyncUnavailableException.class)
+    public ResponseEntity<String> handleDeltaSyncUnavailableException(DeltaSyncUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(ex.getMessage());
+    }
+
+    @ExceptionHandler({WidgetVersionMismatchException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<String> handleVersionConflict(RuntimeException ex) {
+        String message = ex instanceof WidgetVersionMismatchException
+                ? ex.getMessage()
+                : "Widget has been modified by another request";
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(message);
+    }
 }
@@ -0,0 +1,169 @@
+package com.talentreef.interviewquestions.takehome.admission;
+
+import com.talentreef.interviewquestions.takehome.config.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load on {@code /v1/widgets} before it queues up behind the connection pool. Reads and
+ * writes get separate {@link AimdLimit}s, so a burst of slow writes cannot starve cheap reads;
+ * a request over its limit is answered {@code 503} with {@code Retry-After} straight away.
+ * Optional per-client buckets answer {@code 429} to a single client sending too fast. The export
+ * and change-feed streams, file imports and bulk writes are slow by design and are not counted:
+ * their latency says nothing about queueing, and would only drag the write limit down.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String BASE_PATH = "/v1/widgets";
+
+    private final AdmissionProperties properties;
+    private final AimdLimit readLimit;
+    private final AimdLimit writeLimit;
+    private final ClientRateLimiter clientLimiter;
+    private final Counter readRejected;
+    private final Counter writeRejected;
+    private final Counter clientRejected;
+
+    public AdmissionControlFilter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.readLimit = limitOf(properties, properties.getRead());
+        this.writeLimit = limitOf(properties, properties.getWrite());
+        AdmissionProperties.ClientRate clientRate = properties.getClientRate();
+        this.clientLimiter = clientRate.isEnabled()
+                ? new ClientRateLimiter(clientRate.getRequestsPerSecond(), clientRate.getBurst(), clientRate.getMaxClients())
+                : null;
+        this.readRejected = rejectedCounter(meterRegistry, "read");
+        this.writeRejected = rejectedCounter(meterRegistry, "write");
+        this.clientRejected = rejectedCounter(meterRegistry, "client");
+        registerGauges(meterRegistry, "read", readLimit);
+        registerGauges(meterRegistry, "write", writeLimit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.equals(BASE_PATH) && !path.startsWith(BASE_PATH + "/") && !path.startsWith(BASE_PATH + ":")) {
+            return true;
+        }
+        return path.equals(BASE_PATH + "/export") || path.equals(BASE_PATH + "/changes")
+                || path.equals(BASE_PATH + ":import") || path.equals(BASE_PATH + ":bulk")
+                || path.equals(BASE_PATH + ":bulkUpdate") || path.equals(BASE_PATH + ":bulkDelete");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (clientLimiter != null) {
+            long waitNanos = clientLimiter.tryAcquire(clientOf(request));
+            if (waitNanos > 0) {
+                clientRejected.increment();
+                reject(response, 429, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1, "Too many requests from this client");
+                return;
+            }
+        }
+
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        AimdLimit limit = read ? readLimit : writeLimit;
+        if (!limit.tryAcquire()) {
+            (read ? readRejected : writeRejected).increment();
+            reject(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    Math.max(1, properties.getRetryAfter().toSeconds()), "Server is busy, retry later");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        limit.release(start, System.nanoTime(), response.getStatus() >= 500);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                limit.release(start, System.nanoTime(), failed || response.getStatus() >= 500);
+            }
+        }
+    }
+
+    AimdLimit getReadLimit() {
+        return readLimit;
+    }
+
+    AimdLimit getWriteLimit() {
+        return writeLimit;
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String client = request.getHeader(properties.getClientRate().getHeader());
+        return client == null || client.isBlank() ? request.getRemoteAddr() : client;
+    }
+
+    private static void reject(HttpServletResponse response, int status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    private static AimdLimit limitOf(AdmissionProperties properties, AdmissionProperties.Limit limit) {
+        return new AimdLimit(limit.getInitial(), limit.getMin(), limit.getMax(), properties.getTolerance(),
+                properties.getLatencyFloor().toNanos(), properties.getBackoffRatio());
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String kind) {
+        return Counter.builder("widgets.admission.rejected")
+                .description("Requests shed before reaching the widget controllers")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    private static void registerGauges(MeterRegistry meterRegistry, String kind, AimdLimit limit) {
+        Gauge.builder("widgets.admission.limit", limit, AimdLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("kind", kind)
+                .register(meterRegistry);
+        Gauge.builder("widgets.admission.inflight", limit, AimdLimit::getInFlight)
+                .description("Requests currently holding an admission permit")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+}
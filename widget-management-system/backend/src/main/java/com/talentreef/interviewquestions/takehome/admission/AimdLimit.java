@@ -0,0 +1,101 @@
+package com.talentreef.interviewquestions.takehome.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that adapts to latency, additive-increase/multiplicative-decrease style.
+ *
+ * <p>The no-load latency is the fastest request seen in the current window of samples; it is
+ * re-measured every window so it follows the workload. A request slower than {@code tolerance}
+ * times that (and than {@code latencyFloor}), or one that failed with a server error, means queues
+ * are forming: the limit is multiplied by {@code backoffRatio}. Only requests that started after
+ * the last backoff can trigger the next, so one slow burst backs off once rather than once per
+ * request. Otherwise, while at least half the limit is in use, it grows by about one per round
+ * of {@code limit} completions. A limit backed off below its initial value also grows back that
+ * way at lower load, so it recovers once the system is idle instead of staying pinned down.
+ *
+ * <p>Admission is a lock-free compare-and-set on the in-flight count; only the limit update on
+ * completion is synchronized.
+ */
+public class AimdLimit {
+
+    static final int WINDOW = 500;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long latencyFloorNanos;
+    private final double backoffRatio;
+    private final int initialLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this.
+    private double estimate;
+    private long noLoadNanos = Long.MAX_VALUE;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowSamples;
+    private long lastBackoffNanos = Long.MIN_VALUE;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, long latencyFloorNanos,
+                     double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.latencyFloorNanos = latencyFloorNanos;
+        this.backoffRatio = backoffRatio;
+        this.estimate = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.initialLimit = (int) estimate;
+        this.limit = (int) estimate;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Returns a permit taken at {@code startNanos} and feeds its latency into the limit. */
+    public void release(long startNanos, long endNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        update(startNanos, endNanos - startNanos, failed, inFlightBefore);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long startNanos, long latencyNanos, boolean failed, int inFlightBefore) {
+        windowMinNanos = Math.min(windowMinNanos, latencyNanos);
+        noLoadNanos = Math.min(noLoadNanos, latencyNanos);
+        if (++windowSamples >= WINDOW) {
+            noLoadNanos = windowMinNanos;
+            windowMinNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+
+        boolean slow = latencyNanos > Math.max(latencyFloorNanos, (long) (noLoadNanos * tolerance));
+        if (failed || slow) {
+            if (startNanos > lastBackoffNanos) {
+                estimate = Math.max(minLimit, estimate * backoffRatio);
+                lastBackoffNanos = startNanos + latencyNanos;
+            }
+        } else if (inFlightBefore * 2 >= estimate) {
+            estimate = Math.min(maxLimit, estimate + 1.0 / estimate);
+        } else if (estimate < initialLimit) {
+            estimate = Math.min(initialLimit, estimate + 1.0 / estimate);
+        }
+        limit = (int) estimate;
+    }
+}
@@ -0,0 +1,53 @@
+package com.talentreef.interviewquestions.takehome.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets, kept as the generic cell rate algorithm: each client is one
+ * {@link AtomicLong} holding its theoretical arrival time, and admitting a request is a single
+ * compare-and-set with no locks. Buckets live in a bounded Caffeine cache (itself striped) and
+ * expire once idle long enough to have refilled.
+ */
+public class ClientRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    public ClientRateLimiter(double requestsPerSecond, int burst, long maxClients) {
+        this(requestsPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    ClientRateLimiter(double requestsPerSecond, int burst, long maxClients, LongSupplier clock) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / requestsPerSecond));
+        this.burstNanos = intervalNanos * Math.max(0, burst - 1);
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(burstNanos + intervalNanos))
+                .build();
+    }
+
+    /** Takes a token for {@code client}; returns 0 when admitted, otherwise the nanoseconds until one is free. */
+    public long tryAcquire(String client) {
+        long now = clock.getAsLong();
+        AtomicLong arrival = buckets.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos - intervalNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.talentreef.interviewquestions.takehome.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.talentreef.interviewquestions.takehome.config.WidgetCacheProperties;
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Function;
+
+/**
+ * Bounded, name-keyed read-through cache of widgets.
+ *
+ * <p>Loads run inside the cache's atomic per-key compute, and {@link #invalidate} blocks on that
+ * same key until an in-flight load finishes. A load that read the row before a delete committed
+ * is therefore always removed by the after-commit invalidation, never left behind it.
+ * Misses are not cached.
+ */
+@Component
+public class WidgetCache {
+
+    private final Cache<String, WidgetDTO> cache;
+    private final boolean enabled;
+
+    public WidgetCache(WidgetCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "widgets.byName");
+    }
+
+    /**
+     * Returns the cached widget, loading it with {@code loader} on a miss. A {@code null}
+     * result from the loader is returned as-is and not cached.
+     */
+    public WidgetDTO get(String name, Function<String, WidgetDTO> loader) {
+        if (!enabled) {
+            return loader.apply(name);
+        }
+        return cache.get(name, loader);
+    }
+
+    /** Returns the cached widget, or {@code null} on a miss or when caching is disabled. */
+    public WidgetDTO getIfPresent(String name) {
+        return enabled ? cache.getIfPresent(name) : null;
+    }
+
+    public void invalidate(String name) {
+        cache.invalidate(name);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWidgetChanged(WidgetChangedEvent event) {
+        invalidate(event.getName());
+    }
+}
@@ -0,0 +1,199 @@
+package com.talentreef.interviewquestions.takehome.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.talentreef.interviewquestions.takehome.config.WidgetSnapshotProperties;
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.services.WidgetService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The unpaginated widget list, serialized once as JSON and gzip and then served as bytes until the
+ * next change.
+ *
+ * <p>Writers only bump a generation counter after commit and hand the rebuild to a background
+ * thread, so they never wait on readers or on a rebuild. Readers never wait either: they are served
+ * the last snapshot until the rebuilt one is swapped in, so a list may briefly trail a write that
+ * just committed. Only the very first build, when there is nothing to serve yet, runs on a request
+ * thread. The generation is read before the list is loaded, so a change committed during a rebuild
+ * leaves the result stale and it is rebuilt again.
+ */
+@Component
+public class WidgetListSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(WidgetListSnapshot.class);
+
+    // 128 bits of SHA-256, as for the other widget ETags.
+    private static final int TAG_BYTES = 16;
+
+    /** One serialized list; {@code etag} is a hash of the JSON bytes. */
+    public record Snapshot(long generation, int count, byte[] json, byte[] gzip, String etag) {
+    }
+
+    private final boolean enabled;
+    private final WidgetService widgetService;
+    private final ObjectMapper objectMapper;
+    private final Counter rebuilds;
+    private final Executor rebuilder;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ReentrantLock firstBuild = new ReentrantLock();
+
+    @Autowired
+    public WidgetListSnapshot(WidgetSnapshotProperties properties, WidgetService widgetService, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this(properties, widgetService, objectMapper, meterRegistry, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "widget-snapshot-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    WidgetListSnapshot(WidgetSnapshotProperties properties, WidgetService widgetService, ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry, Executor rebuilder) {
+        this.enabled = properties.isEnabled();
+        this.widgetService = widgetService;
+        this.objectMapper = objectMapper;
+        this.rebuilder = rebuilder;
+        this.rebuilds = Counter.builder("widgets.snapshot.rebuilds")
+                .description("Rebuilds of the serialized widget list")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The latest built snapshot, without waiting for a rebuild in progress; one is started if this
+     * snapshot is behind the committed changes. Blocks only while the first snapshot is built.
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return first();
+        }
+        if (current.generation() < generation.get()) {
+            scheduleRebuild();
+        }
+        return current;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWidgetChanged(WidgetChangedEvent event) {
+        generation.incrementAndGet();
+        // Nothing to refresh until the first reader asks for the list.
+        if (snapshot.get() != null) {
+            scheduleRebuild();
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (rebuilder instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private Snapshot first() {
+        firstBuild.lock();
+        try {
+            Snapshot current = snapshot.get();
+            return current != null ? current : publish(build());
+        } finally {
+            firstBuild.unlock();
+        }
+    }
+
+    private void scheduleRebuild() {
+        // At most one rebuild queued; changes arriving meanwhile are picked up by it or the next one.
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        // Cleared before loading, so a change committed during this rebuild schedules another.
+        rebuildScheduled.set(false);
+        Snapshot current = snapshot.get();
+        if (current != null && current.generation() >= generation.get()) {
+            return;
+        }
+        try {
+            publish(build());
+        } catch (RuntimeException ex) {
+            // Readers keep the previous snapshot; the next read or change retries.
+            logger.warn("Widget list snapshot rebuild failed", ex);
+        }
+    }
+
+    /** Swaps {@code built} in unless a newer snapshot got there first. */
+    private Snapshot publish(Snapshot built) {
+        return snapshot.accumulateAndGet(built,
+                (previous, next) -> previous == null || next.generation() >= previous.generation() ? next : previous);
+    }
+
+    private Snapshot build() {
+        long builtGeneration = generation.get();
+        List<WidgetDTO> widgets = widgetService.getAllWidgets();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(widgets);
+            Snapshot built = new Snapshot(builtGeneration, widgets.size(), json, gzip(json), etagOf(json));
+            rebuilds.increment();
+            logger.debug("Rebuilt widget list snapshot: {} widgets, {} bytes, {} gzipped",
+                    built.count(), json.length, built.gzip().length);
+            return built;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(hash, 0, TAG_BYTES) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        // Built once per change and served many times, so the slowest, smallest setting pays off.
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+}
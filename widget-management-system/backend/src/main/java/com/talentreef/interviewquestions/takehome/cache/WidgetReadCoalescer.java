@@ -0,0 +1,56 @@
+package com.talentreef.interviewquestions.takehome.cache;
+
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Supplier;
+
+/**
+ * Shares in-flight reads between identical concurrent requests, so a herd asking for the same
+ * widget or the same page costs one query rather than one each.
+ *
+ * <p>Lookups by name are keyed by name; listings and searches by a key holding every parameter.
+ * After a change commits, the changed name and every listing are detached from their in-flight
+ * loads, so a request arriving after the commit never joins a load that may predate it.
+ */
+@Component
+public class WidgetReadCoalescer {
+
+    private final SingleFlight<String, WidgetDTO> byName = new SingleFlight<>();
+    private final SingleFlight<Object, Object> queries = new SingleFlight<>();
+
+    public WidgetReadCoalescer(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("widgets.reads.coalesced", byName, SingleFlight::joinedCount)
+                .description("Reads answered by sharing a concurrent identical load")
+                .tag("kind", "byName")
+                .register(meterRegistry);
+        FunctionCounter.builder("widgets.reads.coalesced", queries, SingleFlight::joinedCount)
+                .description("Reads answered by sharing a concurrent identical load")
+                .tag("kind", "query")
+                .register(meterRegistry);
+    }
+
+    public WidgetDTO byName(String name, Supplier<WidgetDTO> loader) {
+        return byName.load(name, loader);
+    }
+
+    /**
+     * Coalesces a listing or search. {@code key} must identify the query and all of its
+     * parameters, and distinct queries must not produce equal keys.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T query(Object key, Supplier<T> loader) {
+        return (T) queries.load(key, loader::get);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWidgetChanged(WidgetChangedEvent event) {
+        byName.forget(event.getName());
+        queries.forgetAll();
+    }
+}
@@ -0,0 +1,21 @@
+package com.talentreef.interviewquestions.takehome.changes;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import lombok.Value;
+
+/** One entry of the change feed: a committed mutation and its position in the feed. */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WidgetChange {
+
+    long seq;
+
+    WidgetChangedEvent.Type type;
+
+    String name;
+
+    /** State after the change; {@code null} for deletions. */
+    WidgetDTO widget;
+}
@@ -0,0 +1,207 @@
+package com.talentreef.interviewquestions.takehome.changes;
+
+import com.talentreef.interviewquestions.takehome.config.WidgetChangeFeedProperties;
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-Sent Events feed of committed widget changes.
+ *
+ * <p>Every change gets the next sequence number and is kept in a fixed-size ring buffer, so a
+ * client that reconnects with {@code Last-Event-ID} is replayed exactly what it missed. A client
+ * further behind than the buffer, or presenting an id from before a restart, gets a {@code reset}
+ * event instead: it should reload the catalog and carry on from the reset's id.
+ *
+ * <p>Publishing never waits on clients. Each subscriber is drained by its own virtual thread,
+ * which reads from the buffer at that subscriber's position; a slow client only delays itself,
+ * and one that falls a whole buffer behind is reset rather than queued for.
+ */
+@Component
+public class WidgetChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(WidgetChangeFeed.class);
+
+    static final String RESET_EVENT = "reset";
+
+    private final WidgetChangeFeedProperties properties;
+    private final WidgetChange[] ring;
+    private long lastSeq;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "widget-changes-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WidgetChangeFeed(WidgetChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ring = new WidgetChange[Math.max(1, properties.getBufferSize())];
+        long heartbeat = properties.getHeartbeat().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+        Gauge.builder("widgets.changes.subscribers", subscribers, Set::size)
+                .description("Open change feed connections")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWidgetChanged(WidgetChangedEvent event) {
+        append(event);
+        subscribers.forEach(this::schedule);
+    }
+
+    /**
+     * Opens a stream that starts after {@code lastEventId}, or at the current end of the feed
+     * when it is {@code null}.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, lastEventId == null ? lastSequence() : lastEventId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.send(SseEmitter.event()
+                .comment("connected")
+                .reconnectTime(properties.getReconnectDelay().toMillis()));
+        schedule(subscriber);
+        return emitter;
+    }
+
+    synchronized WidgetChange append(WidgetChangedEvent event) {
+        WidgetChange change = new WidgetChange(++lastSeq, event.getType(), event.getName(), event.getWidget());
+        ring[(int) (change.getSeq() % ring.length)] = change;
+        return change;
+    }
+
+    synchronized long lastSequence() {
+        return lastSeq;
+    }
+
+    /**
+     * The changes after {@code seq}, in order, or empty when they are no longer (or were never)
+     * in the buffer and the client has to reset.
+     */
+    synchronized Optional<List<WidgetChange>> changesAfter(long seq) {
+        long oldest = Math.max(1, lastSeq - ring.length + 1);
+        if (seq > lastSeq || seq < oldest - 1) {
+            return Optional.empty();
+        }
+        List<WidgetChange> changes = new ArrayList<>((int) (lastSeq - seq));
+        for (long s = seq + 1; s <= lastSeq; s++) {
+            changes.add(ring[(int) (s % ring.length)]);
+        }
+        return Optional.of(changes);
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void close() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            while (subscribers.contains(subscriber) && subscriber.position < lastSequence()) {
+                Optional<List<WidgetChange>> changes = changesAfter(subscriber.position);
+                if (changes.isEmpty()) {
+                    long resetTo = lastSequence();
+                    logger.debug("Change feed subscriber at {} is behind the buffer; resetting to {}",
+                            subscriber.position, resetTo);
+                    subscriber.send(SseEmitter.event()
+                            .id(Long.toString(resetTo))
+                            .name(RESET_EVENT)
+                            .data(Map.of("seq", resetTo), MediaType.APPLICATION_JSON));
+                    subscriber.position = resetTo;
+                    continue;
+                }
+                for (WidgetChange change : changes.get()) {
+                    boolean sent = subscriber.send(SseEmitter.event()
+                            .id(Long.toString(change.getSeq()))
+                            .name(change.getType().name().toLowerCase(Locale.ROOT))
+                            .data(change, MediaType.APPLICATION_JSON));
+                    if (!sent) {
+                        break;
+                    }
+                    subscriber.position = change.getSeq();
+                }
+            }
+            subscriber.scheduled.set(false);
+            // A change appended after the loop's last check but before the flag was cleared would
+            // otherwise wait for the next one.
+        } while (subscribers.contains(subscriber) && subscriber.position < lastSequence()
+                && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            senders.execute(() -> subscriber.send(SseEmitter.event().comment("heartbeat")));
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // Only written by the draining thread, which the scheduled flag keeps to one at a time.
+        private volatile long position;
+
+        Subscriber(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+
+        /** Sends are serialized per emitter; a failed send means the client has gone. */
+        boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                synchronized (this) {
+                    emitter.send(event);
+                }
+                return true;
+            } catch (IOException ex) {
+                subscribers.remove(this);
+                emitter.completeWithError(ex);
+            } catch (IllegalStateException ex) {
+                // Already completed, timed out or closed by the container.
+                subscribers.remove(this);
+            }
+            return false;
+        }
+    }
+}
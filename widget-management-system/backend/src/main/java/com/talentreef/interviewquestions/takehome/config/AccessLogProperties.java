@@ -0,0 +1,19 @@
+package com.talentreef.interviewquestions.takehome.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "widgets.access-log")
+@Getter
+@Setter
+public class AccessLogProperties {
+    private boolean enabled = true;
+    /** Fraction of fast, successful requests that are logged; errors and slow requests always are. */
+    private double successSampleRate = 1.0;
+    private Duration slowThreshold = Duration.ofMillis(500);
+}
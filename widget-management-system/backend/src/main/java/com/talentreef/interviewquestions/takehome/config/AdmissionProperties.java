@@ -0,0 +1,47 @@
+package com.talentreef.interviewquestions.takehome.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "widgets.admission")
+@Getter
+@Setter
+public class AdmissionProperties {
+    private boolean enabled = true;
+    private Limit read = new Limit(40, 4, 200);
+    private Limit write = new Limit(10, 2, 50);
+    /** A request slower than this multiple of the no-load latency (and the floor) backs the limit off. */
+    private double tolerance = 2.0;
+    private Duration latencyFloor = Duration.ofMillis(10);
+    private double backoffRatio = 0.9;
+    private Duration retryAfter = Duration.ofSeconds(1);
+    private ClientRate clientRate = new ClientRate();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int initial;
+        private int min;
+        private int max;
+    }
+
+    @Getter
+    @Setter
+    public static class ClientRate {
+        private boolean enabled = false;
+        private double requestsPerSecond = 50;
+        private int burst = 100;
+        /** Header naming the client; the remote address is used when it is absent. */
+        private String header = "X-Client-Id";
+        private long maxClients = 100_000;
+    }
+}
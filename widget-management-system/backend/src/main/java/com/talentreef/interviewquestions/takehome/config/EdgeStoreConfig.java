@@ -0,0 +1,41 @@
+package com.talentreef.interviewquestions.takehome.config;
+
+import com.talentreef.interviewquestions.takehome.edge.WidgetLogStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Wires the {@code edge} profile's {@link WidgetLogStore}: opens (and recovers) the log under
+ * {@code widgets.edge.directory}, schedules background compaction, and exposes the store's size
+ * in place of the JPA-backed {@code widgets.rows} gauge.
+ */
+@Configuration
+@Profile("edge")
+public class EdgeStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public WidgetLogStore widgetLogStore(EdgeStoreProperties properties, MeterRegistry meterRegistry) throws IOException {
+        WidgetLogStore store = new WidgetLogStore(Path.of(properties.getDirectory()),
+                Math.toIntExact(properties.getInitialSize().toBytes()), properties.isSyncWrites());
+        store.scheduleCompaction(properties.getCompactionInterval(), properties.getCompactionThreshold(),
+                properties.getCompactionMinSize().toBytes());
+
+        Gauge.builder("widgets.rows", store, WidgetLogStore::size)
+                .description("Number of widgets stored")
+                .register(meterRegistry);
+        Gauge.builder("widgets.edge.log.bytes", store, WidgetLogStore::logBytes)
+                .description("Bytes used by the widget log, live and garbage")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("widgets.edge.log.garbage.ratio", store, WidgetLogStore::garbageRatio)
+                .description("Share of the widget log held by superseded or deleted records")
+                .register(meterRegistry);
+        return store;
+    }
+}
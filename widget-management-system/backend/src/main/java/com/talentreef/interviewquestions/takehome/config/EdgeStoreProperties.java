@@ -0,0 +1,22 @@
+package com.talentreef.interviewquestions.takehome.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "widgets.edge")
+@Getter
+@Setter
+public class EdgeStoreProperties {
+    private String directory = "data";
+    private DataSize initialSize = DataSize.ofMegabytes(16);
+    private boolean syncWrites = true;
+    private Duration compactionInterval = Duration.ofMinutes(1);
+    private double compactionThreshold = 0.5;
+    private DataSize compactionMinSize = DataSize.ofMegabytes(1);
+}
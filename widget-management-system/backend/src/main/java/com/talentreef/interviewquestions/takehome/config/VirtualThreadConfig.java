@@ -0,0 +1,34 @@
+package com.talentreef.interviewquestions.takehome.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling and the application task executor (MVC async work such as the
+ * NDJSON export) on virtual threads when {@code widgets.threads.virtual=true}.
+ *
+ * <p>With virtual threads there is no worker pool to size: a request blocked on JDBC parks cheaply,
+ * and the Hikari pool ({@code spring.datasource.hikari.maximum-pool-size}) becomes the explicit
+ * concurrency limit for database work, with {@code connection-timeout} bounding the wait for it.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "widgets.threads", name = "virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
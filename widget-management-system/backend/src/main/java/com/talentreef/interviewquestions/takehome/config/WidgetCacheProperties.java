@@ -0,0 +1,18 @@
+package com.talentreef.interviewquestions.takehome.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "widgets.cache")
+@Getter
+@Setter
+public class WidgetCacheProperties {
+    private boolean enabled = true;
+    private long maxSize = 10_000;
+    private Duration ttl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,20 @@
+package com.talentreef.interviewquestions.takehome.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "widgets.changes")
+@Getter
+@Setter
+public class WidgetChangeFeedProperties {
+    /** Changes kept for Last-Event-ID resume; a client further behind than this is sent a reset. */
+    private int bufferSize = 1024;
+    private Duration heartbeat = Duration.ofSeconds(15);
+    private Duration timeout = Duration.ofMinutes(30);
+    private Duration reconnectDelay = Duration.ofSeconds(3);
+}
@@ -0,0 +1,17 @@
+package com.talentreef.interviewquestions.takehome.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "widgets.import")
+@Getter
+@Setter
+public class WidgetImportProperties {
+    /** Rows committed per transaction; a request may ask for a different size up to the bulk limit. */
+    private int chunkSize = 500;
+    /** Rows listed in the error report before it is truncated; the counts stay exact. */
+    private int maxReportedErrors = 1000;
+}
@@ -0,0 +1,15 @@
+package com.talentreef.interviewquestions.takehome.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "widgets.snapshot")
+@Getter
+@Setter
+public class WidgetSnapshotProperties {
+    /** Serve the unpaginated list from a pre-serialized snapshot; worth it only while clients still fetch it. */
+    private boolean enabled = false;
+}
@@ -0,0 +1,89 @@
+package com.talentreef.interviewquestions.takehome.controllers;
+
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import com.talentreef.interviewquestions.takehome.imports.WidgetImporter;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkChangeResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkDelete;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkUpdate;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetImportResult;
+import com.talentreef.interviewquestions.takehome.services.WidgetService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Collection-level operations. These live outside {@link WidgetController} because the
+ * {@code /v1/widgets:verb} form cannot be expressed relative to its {@code /v1/widgets} mapping.
+ */
+@RestController
+public class WidgetBulkController {
+
+  private static final Logger logger = LoggerFactory.getLogger(WidgetBulkController.class);
+  private static final String TEXT_CSV_VALUE = "text/csv";
+  private final WidgetService widgetService;
+  private final WidgetImporter widgetImporter;
+
+  public WidgetBulkController(WidgetService widgetService, WidgetImporter widgetImporter) {
+    this.widgetService = widgetService;
+    this.widgetImporter = widgetImporter;
+  }
+
+  @PostMapping("/v1/widgets:bulk")
+  public ResponseEntity<WidgetBulkResult> bulkCreateWidgets(@RequestBody List<WidgetDTO> widgets) {
+    logger.info("Bulk creating {} widgets", widgets.size());
+    WidgetBulkResult result = widgetService.bulkCreateWidgets(widgets);
+    logger.info("Bulk create finished: {} created, {} conflicts, {} invalid",
+            result.getCreated(), result.getConflicts(), result.getInvalid());
+    return ResponseEntity.ok(result);
+  }
+
+  @PostMapping("/v1/widgets:bulkUpdate")
+  public ResponseEntity<WidgetBulkChangeResult> bulkUpdateWidgets(@RequestBody WidgetBulkUpdate request) {
+    logger.info("Bulk updating widgets matching {} (dry run: {})", request.getFilter(), request.isDryRun());
+    WidgetBulkChangeResult result = widgetService.bulkUpdateWidgets(request);
+    logger.info("Bulk update finished: {} matched, {} updated", result.getMatched(), result.getAffected());
+    return ResponseEntity.ok(result);
+  }
+
+  @PostMapping("/v1/widgets:bulkDelete")
+  public ResponseEntity<WidgetBulkChangeResult> bulkDeleteWidgets(@RequestBody WidgetBulkDelete request) {
+    logger.info("Bulk deleting widgets matching {} (dry run: {})", request.getFilter(), request.isDryRun());
+    WidgetBulkChangeResult result = widgetService.bulkDeleteWidgets(request);
+    logger.info("Bulk delete finished: {} matched, {} deleted", result.getMatched(), result.getAffected());
+    return ResponseEntity.ok(result);
+  }
+
+  /**
+   * Streams a CSV (with a header row) or NDJSON file of widgets into the catalog. Existing names
+   * are skipped unless {@code onConflict=upsert}.
+   */
+  @PostMapping(value = "/v1/widgets:import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<WidgetImportResult> importWidgets(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                          @RequestParam(defaultValue = "skip") String onConflict,
+                                                          @RequestParam(required = false) Integer chunkSize,
+                                                          InputStream body) throws IOException {
+    boolean upsert = switch (onConflict) {
+      case "skip" -> false;
+      case "upsert" -> true;
+      default -> throw new InvalidRequestException("onConflict must be 'skip' or 'upsert'");
+    };
+    WidgetImporter.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+            ? WidgetImporter.Format.NDJSON
+            : WidgetImporter.Format.CSV;
+    logger.info("Importing widgets from {} ({})", format, onConflict);
+    return ResponseEntity.ok(widgetImporter.importWidgets(body, format, upsert, chunkSize));
+  }
+}
@@ -0,0 +1,59 @@
+package com.talentreef.interviewquestions.takehome.controllers;
+
+import com.talentreef.interviewquestions.takehome.changes.WidgetChangeFeed;
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams widget changes as Server-Sent Events, replacing full-catalog polling. Each event is
+ * named {@code created}, {@code updated} or {@code deleted} and carries its sequence number as
+ * the event id, so {@code EventSource} reconnects resume from {@code Last-Event-ID} on their own.
+ * A {@code reset} event means the gap could not be replayed and the catalog must be reloaded.
+ */
+@RestController
+@RequestMapping("/v1/widgets")
+public class WidgetChangesController {
+
+  private static final Logger logger = LoggerFactory.getLogger(WidgetChangesController.class);
+  private final WidgetChangeFeed changeFeed;
+
+  public WidgetChangesController(WidgetChangeFeed changeFeed) {
+    this.changeFeed = changeFeed;
+  }
+
+  /**
+   * Opens the feed. {@code lastEventId} is accepted as a query parameter for clients that cannot
+   * set headers on their first connection; the header wins when both are present.
+   */
+  @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamChanges(
+          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+          @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+    String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+    logger.debug("Opening change feed after {}", lastEventId);
+    return changeFeed.subscribe(parse(lastEventId));
+  }
+
+  private static Long parse(String lastEventId) {
+    if (lastEventId == null || lastEventId.isBlank()) {
+      return null;
+    }
+    try {
+      long seq = Long.parseLong(lastEventId.trim());
+      if (seq < 0) {
+        throw new InvalidRequestException("Invalid Last-Event-ID");
+      }
+      return seq;
+    } catch (NumberFormatException ex) {
+      throw new InvalidRequestException("Invalid Last-Event-ID");
+    }
+  }
+}
@@ -1,19 +1,38 @@
 package com.talentreef.interviewquestions.takehome.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.talentreef.interviewquestions.takehome.cache.WidgetListSnapshot;
 import com.talentreef.interviewquestions.takehome.exceptions.WidgetAlreadyExistsException;
 import com.talentreef.interviewquestions.takehome.exceptions.WidgetNotFoundException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetVersionMismatchException;
 import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetDelta;
+import com.talentreef.interviewquestions.takehome.models.WidgetFilter;
+import com.talentreef.interviewquestions.takehome.models.WidgetPage;
+import com.talentreef.interviewquestions.takehome.models.WidgetSort;
 import com.talentreef.interviewquestions.takehome.services.WidgetService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/v1/widgets")
@@ -22,63 +41,302 @@ public class WidgetController {
 
   private static final Logger logger = LoggerFactory.getLogger(WidgetController.class);
   private final WidgetService widgetService;
+  private final ObjectMapper objectMapper;
+  private final WidgetListSnapshot listSnapshot;
 
-  public WidgetController(WidgetService widgetService) {
+  public WidgetController(WidgetService widgetService, ObjectMapper objectMapper, WidgetListSnapshot listSnapshot) {
     this.widgetService = widgetService;
+    this.objectMapper = objectMapper;
+    this.listSnapshot = listSnapshot;
   }
 
+  /**
+   * Lists widgets. Supplying {@code limit}, {@code cursor}, a filter ({@code minPrice},
+   * {@code maxPrice}, {@code namePrefix}) or {@code sort} ({@code price|name[,asc|desc]}) returns a
+   * keyset-paginated {@link WidgetPage}; without any of them, the legacy unpaginated array is
+   * returned. {@code fields} (for example {@code name,price}) trims each item to those fields in
+   * either form, and on its own keeps the array; in the paginated form unrequested descriptions
+   * are left unread. Both forms carry a strong ETag, distinct per wire format, and answer a
+   * matching {@code If-None-Match} with 304.
+   *
+   * <p>{@code since} switches to delta sync: a {@link WidgetDelta} of the widgets written and the
+   * names deleted after that token, with the token to send next. An empty {@code since} starts
+   * from the beginning; a token the server cannot continue from is answered with 410 Gone.
+   *
+   * <p>With {@code widgets.snapshot.enabled}, JSON requests for the unpaginated array are answered
+   * from a pre-serialized (and pre-gzipped) snapshot that is rebuilt once per change; the gzip
+   * body carries a {@code -gzip} suffixed tag of its own.
+   */
   @GetMapping
-  public ResponseEntity<List<WidgetDTO>> getAllWidgets() {
-    logger.info("Fetching all widgets");
+  public ResponseEntity<?> getAllWidgets(
+          @RequestParam(required = false) Integer limit,
+          @RequestParam(required = false) String cursor,
+          @RequestParam(required = false) BigDecimal minPrice,
+          @RequestParam(required = false) BigDecimal maxPrice,
+          @RequestParam(required = false) @Size(max = 100) String namePrefix,
+          @RequestParam(required = false) String sort,
+          @RequestParam(required = false) Set<String> fields,
+          @RequestParam(required = false) String since,
+          WebRequest request) {
+    if (since != null) {
+      logger.debug("Fetching widget changes since {} with limit {}", since, limit);
+      WidgetDelta delta = widgetService.getChanges(since, limit);
+      logger.debug("Retrieved {} changed and {} deleted widgets", delta.getItems().size(), delta.getDeleted().size());
+      return ResponseEntity.ok(delta);
+    }
+    MediaType format = WidgetFormats.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+    WidgetFilter filter = WidgetFilter.builder()
+            .minPrice(minPrice)
+            .maxPrice(maxPrice)
+            .namePrefix(namePrefix)
+            .sort(WidgetSort.parse(sort))
+            .fields(WidgetFields.parse(fields))
+            .build();
+    // A fieldset alone does not switch to the paginated envelope; it only trims the array.
+    if (limit != null || cursor != null || !filter.isUnfiltered()) {
+      logger.debug("Fetching widget page with limit {} and filter {}", limit, filter);
+      WidgetPage page = filter.isDefault()
+              ? widgetService.getWidgetPage(cursor, limit)
+              : widgetService.getWidgetPage(filter, cursor, limit);
+      logger.debug("Retrieved {} widgets", page.getItems().size());
+      String etag = WidgetETags.forFormat(WidgetETags.of(page.getItems(), page.getNext(), filter.getFields()), format);
+      if (request.checkNotModified(etag)) {
+        return null;
+      }
+      if (filter.getFields() != null) {
+        Map<String, Object> sparse = new LinkedHashMap<>();
+        sparse.put("items", WidgetFields.select(page.getItems(), filter.getFields()));
+        sparse.put("next", page.getNext());
+        return ok(etag, format).body(sparse);
+      }
+      return ok(etag, format).body(page);
+    }
+    if (filter.getFields() == null && listSnapshot.isEnabled() && prefersJson(request.getHeader(HttpHeaders.ACCEPT))) {
+      return snapshotResponse(request);
+    }
+    logger.debug("Fetching all widgets");
     List<WidgetDTO> widgets = widgetService.getAllWidgets();
-    logger.info("Retrieved {} widgets", widgets.size());
-    return ResponseEntity.ok(widgets);
+    logger.debug("Retrieved {} widgets", widgets.size());
+    String etag = WidgetETags.forFormat(WidgetETags.of(widgets, null, filter.getFields()), format);
+    if (request.checkNotModified(etag)) {
+      return null;
+    }
+    if (filter.getFields() != null) {
+      return ok(etag, format).body(WidgetFields.select(widgets, filter.getFields()));
+    }
+    return ok(etag, format).body(widgets);
+  }
+
+  /**
+   * Streams the whole catalog as newline-delimited JSON, one widget per line, straight from a
+   * database cursor to the response so memory use does not grow with the table.
+   */
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportWidgets() {
+    logger.info("Exporting widgets as NDJSON");
+    ObjectWriter writer = objectMapper.writerFor(WidgetDTO.class);
+    StreamingResponseBody body = out -> {
+      try {
+        long exported = widgetService.exportWidgets(widget -> {
+          try {
+            out.write(writer.writeValueAsBytes(widget));
+            out.write('\n');
+          } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+          }
+        });
+        logger.info("Exported {} widgets", exported);
+      } catch (UncheckedIOException ex) {
+        throw ex.getCause();
+      }
+    };
+    return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+  }
+
+  /**
+   * Searches widgets: each word of {@code q} must prefix a word of the name or match a word of
+   * the description. Results are ranked and paged with the opaque {@code next} cursor.
+   */
+  @GetMapping("/search")
+  public ResponseEntity<WidgetPage> searchWidgets(
+          @RequestParam @Size(min = 1, max = 100) String q,
+          @RequestParam(required = false) Integer limit,
+          @RequestParam(required = false) String cursor,
+          WebRequest request) {
+    logger.debug("Searching widgets for: {}", q);
+    WidgetPage page = widgetService.searchWidgets(q, cursor, limit);
+    MediaType format = WidgetFormats.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+    String etag = WidgetETags.forFormat(WidgetETags.of(page.getItems(), page.getNext()), format);
+    if (request.checkNotModified(etag)) {
+      return null;
+    }
+    return ok(etag, format).body(page);
   }
 
+  /**
+   * Fetches one widget with a strong ETag, optionally trimmed to {@code fields}. A matching
+   * {@code If-None-Match} gets a bodiless 304; when the widget is cached, that answer costs
+   * neither a query nor serialization.
+   */
   @GetMapping("/{name}")
-  public ResponseEntity<WidgetDTO> getWidgetByName(
-          @PathVariable @Size(min = 3, max = 100) String name) {
-    logger.info("Fetching widget with name: {}", name);
+  public ResponseEntity<?> getWidgetByName(
+          @PathVariable @Size(min = 3, max = 100) String name,
+          @RequestParam(required = false) Set<String> fields,
+          WebRequest request) {
+    logger.debug("Fetching widget with name: {}", name);
+    Set<String> selected = WidgetFields.parse(fields);
     WidgetDTO widget = widgetService.getWidgetByName(name);
-    logger.info("Successfully fetched widget: {}", name);
-    return ResponseEntity.ok(widget);
+    // A sparse representation gets its own hash tag; only the full one carries the version tag for If-Match.
+    MediaType format = WidgetFormats.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+    String etag = WidgetETags.forFormat(
+            selected == null ? WidgetETags.of(widget) : WidgetETags.of(List.of(widget), null, selected), format);
+    if (request.checkNotModified(etag)) {
+      logger.debug("Widget not modified: {}", name);
+      return null;
+    }
+    logger.debug("Successfully fetched widget: {}", name);
+    return ok(etag, format).body(selected == null ? widget : WidgetFields.select(widget, selected));
   }
 
   @PostMapping
-  public ResponseEntity<?> createWidget(@Valid @RequestBody WidgetDTO widgetDTO) {
-    logger.info("Creating widget with name: {}", widgetDTO.getName());
+  public ResponseEntity<?> createWidget(
+          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+          @Valid @RequestBody WidgetDTO widgetDTO) {
+    logger.debug("Creating widget with name: {}", widgetDTO.getName());
     try {
       WidgetDTO createdWidget = widgetService.createWidget(widgetDTO);
-      logger.info("Successfully created widget: {}", createdWidget.getName());
-      return ResponseEntity.status(HttpStatus.CREATED).body(createdWidget);
+      logger.debug("Successfully created widget: {}", createdWidget.getName());
+      MediaType format = WidgetFormats.negotiate(accept);
+      return inFormat(ResponseEntity.status(HttpStatus.CREATED), format)
+              .eTag(WidgetETags.forFormat(WidgetETags.of(createdWidget), format))
+              .body(createdWidget);
     } catch (WidgetAlreadyExistsException ex) {
       logger.warn("Failed to create widget: {}", ex.getMessage());
       return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
     }
   }
 
+  /**
+   * Updates a widget. An {@code If-Match} ETag (or a {@code version} in the body) makes the update
+   * conditional on the stored version; a tag that is not the widget's current one, or any
+   * {@code If-Match} for a widget that does not exist, is answered with 412 Precondition Failed.
+   * {@code If-Match: *} only requires that the widget exists.
+   */
   @PutMapping("/{name}")
   public ResponseEntity<WidgetDTO> updateWidget(
           @PathVariable @Size(min = 3, max = 100) String name,
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
           @RequestBody @Valid WidgetDTO widgetDTO) {
-    logger.info("Updating widget with name: {}", name);
-    WidgetDTO updatedWidget = widgetService.updateWidget(name, widgetDTO);
-    logger.info("Successfully updated widget: {}", name);
-    return ResponseEntity.ok(updatedWidget);
+    logger.debug("Updating widget with name: {}", name);
+    MediaType format = WidgetFormats.negotiate(accept);
+    if (ifMatch == null) {
+      WidgetDTO updatedWidget = widgetService.updateWidget(name, widgetDTO);
+      logger.debug("Successfully updated widget: {}", name);
+      return ok(WidgetETags.forFormat(WidgetETags.of(updatedWidget), format), format).body(updatedWidget);
+    }
+    try {
+      if (ifMatch.trim().equals("*")) {
+        WidgetDTO updatedWidget = widgetService.updateWidget(name, widgetDTO);
+        logger.debug("Successfully updated widget: {}", name);
+        return ok(WidgetETags.forFormat(WidgetETags.of(updatedWidget), format), format).body(updatedWidget);
+      }
+      // Read past the cache: a stale entry would fail a tag that matches the stored version.
+      WidgetDTO current = widgetService.getCurrentWidget(name);
+      if (!WidgetETags.matches(ifMatch, current)) {
+        logger.warn("If-Match {} does not match widget {}", ifMatch, name);
+        throw new WidgetVersionMismatchException("Widget '" + name + "' has been modified by another request");
+      }
+      // The service checks this version again as part of its write, so a change that lands after
+      // the read above still fails the precondition.
+      widgetDTO.setVersion(current.getVersion());
+      WidgetDTO updatedWidget = widgetService.updateWidget(name, widgetDTO);
+      logger.debug("Successfully updated widget: {}", name);
+      return ok(WidgetETags.forFormat(WidgetETags.of(updatedWidget), format), format).body(updatedWidget);
+    } catch (IllegalArgumentException ex) {
+      if (ex.getMessage() == null || !ex.getMessage().contains("not found")) {
+        throw ex;
+      }
+      logger.debug("If-Match sent for missing widget: {}", name);
+      throw new WidgetVersionMismatchException("Widget '" + name + "' does not exist");
+    }
   }
 
   @DeleteMapping("/{name}")
   public ResponseEntity<?> deleteWidget(
           @PathVariable @Size(min = 3, max = 100) String name) {
-    logger.info("Deleting widget with name: {}", name);
+    logger.debug("Deleting widget with name: {}", name);
+    widgetService.deleteWidget(name);
+    logger.debug("Successfully deleted widget: {}", name);
+    return ResponseEntity.noContent().build();
+  }
+
+  private ResponseEntity<byte[]> snapshotResponse(WebRequest request) {
+    WidgetListSnapshot.Snapshot snapshot = listSnapshot.current();
+    logger.debug("Serving {} widgets from the list snapshot", snapshot.count());
+    // The gzip bytes are a different representation, so they get their own strong tag.
+    boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    String etag = gzip ? WidgetETags.withSuffix(snapshot.etag(), "gzip") : snapshot.etag();
+    if (request.checkNotModified(etag)) {
+      // The tag depends on Accept-Encoding, so the 304 has to say so as well as the 200.
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+              .eTag(etag)
+              .varyBy(HttpHeaders.ACCEPT_ENCODING)
+              .build();
+    }
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(etag)
+            .contentType(MediaType.APPLICATION_JSON)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+    }
+    return response.body(snapshot.json());
+  }
+
+  /** A 200 response tagged {@code etag}, written in the negotiated {@code format}. */
+  private static ResponseEntity.BodyBuilder ok(String etag, MediaType format) {
+    return inFormat(ResponseEntity.ok(), format).eTag(etag);
+  }
+
+  /**
+   * Pins a binary format, so the body is written in the format its tag was computed for. JSON is
+   * left to the regular negotiation, which may still pick a {@code +json} type or answer 406.
+   */
+  private static ResponseEntity.BodyBuilder inFormat(ResponseEntity.BodyBuilder response, MediaType format) {
+    return MediaType.APPLICATION_JSON.equals(format) ? response : response.contentType(format);
+  }
+
+  /** True when the client's most preferred media type would be answered with JSON anyway. */
+  private static boolean prefersJson(String accept) {
+    if (accept == null || accept.isBlank()) {
+      return true;
+    }
     try {
-      widgetService.deleteWidget(name);
-      logger.info("Successfully deleted widget: {}", name);
-      return ResponseEntity.noContent().build();
+      MediaType preferred = null;
+      for (MediaType type : MediaType.parseMediaTypes(accept)) {
+        if (preferred == null || type.getQualityValue() > preferred.getQualityValue()) {
+          preferred = type;
+        }
+      }
+      return preferred == null || preferred.includes(MediaType.APPLICATION_JSON);
+    } catch (InvalidMediaTypeException ex) {
+      return false;
     }
-    catch (Exception ex) {
-      logger.warn("Failed to delete widget: {}", ex.getMessage());
-      return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+  }
+
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split("\\s*;\\s*");
+      if (parts[0].equalsIgnoreCase("gzip") && (parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?"))) {
+        return true;
+      }
     }
+    return false;
   }
-}
\ No newline at end of file
+}
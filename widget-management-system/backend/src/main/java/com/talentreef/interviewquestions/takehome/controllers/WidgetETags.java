@@ -0,0 +1,117 @@
+package com.talentreef.interviewquestions.takehome.controllers;
+
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Strong entity tags for widget representations. A single widget is tagged {@code "<id>.<version>"}
+ * so that a matching {@code If-Match} pins its optimistic-lock version; widgets without a version and
+ * collections are tagged with a hash of every serialized field. Tags are computed from the data, so
+ * each non-JSON wire format appends its own suffix ({@link #forFormat}) to stay a distinct strong
+ * validator.
+ */
+final class WidgetETags {
+
+  // 128 bits of SHA-256 is plenty to tell representations apart.
+  private static final int TAG_BYTES = 16;
+
+  private WidgetETags() {
+  }
+
+  static String of(WidgetDTO widget) {
+    if (widget.getId() != null && widget.getVersion() != null) {
+      return "\"" + widget.getId() + "." + widget.getVersion() + "\"";
+    }
+    MessageDigest digest = newDigest();
+    update(digest, widget);
+    return format(digest);
+  }
+
+  static String of(Collection<WidgetDTO> widgets, String next) {
+    MessageDigest digest = newDigest();
+    for (WidgetDTO widget : widgets) {
+      update(digest, widget);
+    }
+    if (next != null) {
+      digest.update(next.getBytes(StandardCharsets.UTF_8));
+    }
+    return format(digest);
+  }
+
+  /** Tags a sparse representation; the field set is part of the hash, so each fieldset has its own tag. */
+  static String of(Collection<WidgetDTO> widgets, String next, Set<String> fields) {
+    if (fields == null) {
+      return of(widgets, next);
+    }
+    MessageDigest digest = newDigest();
+    for (WidgetDTO widget : widgets) {
+      update(digest, widget);
+    }
+    digest.update(("\u0002" + new TreeSet<>(fields) + "\u0002" + next).getBytes(StandardCharsets.UTF_8));
+    return format(digest);
+  }
+
+  /**
+   * Evaluates an {@code If-Match} value against the current widget. Tags are compared whole and
+   * strongly, as RFC 9110 requires: {@code *} or a listed tag equal to {@link #of(WidgetDTO)}
+   * matches, so a tag naming another widget or a weak tag never does.
+   */
+  static boolean matches(String ifMatch, WidgetDTO current) {
+    String tag = of(current);
+    for (String candidate : ifMatch.split(",")) {
+      String value = candidate.trim();
+      if (value.equals("*")) {
+        return true;
+      }
+      // The version is the same whichever format the client last read it in.
+      for (MediaType format : WidgetFormats.PRODUCIBLE) {
+        if (value.equals(forFormat(tag, format))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /** The tag of {@code etag}'s data written as {@code format}; JSON keeps the plain tag. */
+  static String forFormat(String etag, MediaType format) {
+    if (WidgetFormats.CBOR.equals(format)) {
+      return withSuffix(etag, "cbor");
+    }
+    if (WidgetFormats.SMILE.equals(format)) {
+      return withSuffix(etag, "smile");
+    }
+    return etag;
+  }
+
+  static String withSuffix(String etag, String suffix) {
+    return etag.substring(0, etag.length() - 1) + "-" + suffix + "\"";
+  }
+
+  private static void update(MessageDigest digest, WidgetDTO widget) {
+    String fields = widget.getId() + "\u0000" + widget.getName() + "\u0000" + widget.getDescription()
+            + "\u0000" + widget.getPrice() + "\u0000" + widget.getVersion() + "\u0001";
+    digest.update(fields.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String format(MessageDigest digest) {
+    byte[] hash = digest.digest();
+    return "\"" + HexFormat.of().formatHex(hash, 0, TAG_BYTES) + "\"";
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 not available", ex);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.talentreef.interviewquestions.takehome.controllers;
+
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldsets ({@code fields=name,price}). Field names are those of {@link WidgetDTO};
+ * selected fields are written in the DTO's own order whatever order they were requested in.
+ */
+final class WidgetFields {
+
+  private static final List<String> ALL = List.of("id", "name", "description", "price", "version");
+
+  private WidgetFields() {
+  }
+
+  /** Validates the requested fields; {@code null} or empty means the full representation. */
+  static Set<String> parse(Set<String> fields) {
+    if (fields == null || fields.isEmpty()) {
+      return null;
+    }
+    for (String field : fields) {
+      if (!ALL.contains(field)) {
+        throw new InvalidRequestException("Unknown field: " + field);
+      }
+    }
+    return Set.copyOf(fields);
+  }
+
+  static Map<String, Object> select(WidgetDTO widget, Set<String> fields) {
+    Map<String, Object> selected = new LinkedHashMap<>();
+    for (String field : ALL) {
+      if (fields.contains(field)) {
+        selected.put(field, switch (field) {
+          case "id" -> widget.getId();
+          case "name" -> widget.getName();
+          case "description" -> widget.getDescription();
+          case "price" -> widget.getPrice();
+          default -> widget.getVersion();
+        });
+      }
+    }
+    return selected;
+  }
+
+  static List<Map<String, Object>> select(List<WidgetDTO> widgets, Set<String> fields) {
+    return widgets.stream().map(widget -> select(widget, fields)).toList();
+  }
+}
@@ -0,0 +1,59 @@
+package com.talentreef.interviewquestions.takehome.controllers;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The wire formats widget representations are negotiated between, in server preference order
+ * (the order of the message converters registered in {@code BinaryFormatsConfig}).
+ */
+final class WidgetFormats {
+
+  static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+  static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+  static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON, CBOR, SMILE);
+
+  // Highest quality first; among equals, concrete types before wildcards, then the client's order.
+  private static final Comparator<MediaType> PREFERENCE = Comparator
+          .<MediaType>comparingDouble(MediaType::getQualityValue).reversed()
+          .thenComparing(MediaType::isWildcardType)
+          .thenComparing(MediaType::isWildcardSubtype);
+
+  private WidgetFormats() {
+  }
+
+  /**
+   * The format a response to {@code accept} is written in: the producible type the client ranks
+   * highest, ties going to the server's order. A missing or unparseable header, or one that none
+   * of these satisfy, resolves to JSON and is left to the regular negotiation.
+   */
+  static MediaType negotiate(String accept) {
+    if (accept == null || accept.isBlank()) {
+      return MediaType.APPLICATION_JSON;
+    }
+    List<MediaType> accepted;
+    try {
+      accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+    } catch (InvalidMediaTypeException ex) {
+      return MediaType.APPLICATION_JSON;
+    }
+    accepted.sort(PREFERENCE);
+    for (MediaType type : accepted) {
+      if (type.getQualityValue() == 0) {
+        break;
+      }
+      for (MediaType producible : PRODUCIBLE) {
+        if (type.includes(producible)) {
+          return producible;
+        }
+      }
+    }
+    return MediaType.APPLICATION_JSON;
+  }
+}
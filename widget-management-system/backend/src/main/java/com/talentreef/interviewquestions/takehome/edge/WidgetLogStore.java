@@ -0,0 +1,520 @@
+package com.talentreef.interviewquestions.takehome.edge;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped widget log with an in-memory name → offset index.
+ *
+ * <p>Each record is {@code [int length][int crc32][payload]}. The payload is laid out as
+ * {@code [byte type][long id][long version][long priceCents][short nameLength][name][int descriptionLength][description]}.
+ * Strings are UTF-8, and a description length of -1 means {@code null}. A put record holds the
+ * whole current state of a widget; a delete record holds only its id and name. A high-water record
+ * holds only the highest id ever assigned; compaction writes one first, so ids of deleted widgets
+ * are not handed out again after their delete records are dropped. The mapped region is
+ * pre-extended with zeros, so a zero length marks the end of the log.
+ *
+ * <p>On open, the log is replayed to rebuild the index. Replay stops at the first record whose
+ * length or checksum is wrong, which is where a crash tore the last write. The file is then
+ * truncated there, so stale bytes can never be read as records. Compaction rewrites the live
+ * records to a temporary file and atomically renames it over the log; a compaction interrupted
+ * by a crash leaves the old log untouched.
+ *
+ * <p>Reads share a read lock and use absolute buffer access only. Writes take the write lock.
+ * Compaction copies the live records under the read lock and syncs them with no lock held; it
+ * takes the write lock only to append what was written meanwhile and swap the files. The mapping
+ * is addressed with {@code int} offsets, so one log holds at most 2 GiB.
+ */
+public class WidgetLogStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WidgetLogStore.class);
+
+    static final String LOG_FILE = "widgets.log";
+    static final String COMPACT_FILE = "widgets.log.compact";
+
+    private static final int HEADER_BYTES = 8;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte HIGH_WATER = 3;
+    // type, id, version, priceCents, nameLength
+    private static final int FIXED_PAYLOAD_BYTES = 1 + 8 + 8 + 8 + 2;
+    private static final int EXPORT_CHUNK = 500;
+
+    private final Path directory;
+    private final int initialSize;
+    private final boolean syncWrites;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock compaction = new ReentrantLock();
+    private final Map<String, Integer> offsets = new HashMap<>();
+    private final TreeMap<Long, String> namesById = new TreeMap<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int writePosition;
+    private long liveBytes;
+    private long nextId = 1;
+    private ScheduledExecutorService compactor;
+
+    public WidgetLogStore(Path directory, int initialSize, boolean syncWrites) throws IOException {
+        this.directory = directory;
+        this.initialSize = initialSize;
+        this.syncWrites = syncWrites;
+        Files.createDirectories(directory);
+        // A leftover compaction file means a crash before the rename; the log itself is intact.
+        Files.deleteIfExists(directory.resolve(COMPACT_FILE));
+        channel = FileChannel.open(directory.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(channel.size(), initialSize));
+        recover();
+    }
+
+    /**
+     * Checks every {@code interval} and compacts once at least {@code minBytes} have been written
+     * and the share of dead bytes reaches {@code garbageThreshold}.
+     */
+    public void scheduleCompaction(Duration interval, double garbageThreshold, long minBytes) {
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "widget-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(() -> {
+            try {
+                if (logBytes() >= minBytes && garbageRatio() >= garbageThreshold) {
+                    compact();
+                }
+            } catch (IOException | RuntimeException ex) {
+                logger.error("Widget log compaction failed", ex);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public Optional<WidgetRecord> findByName(String name) {
+        lock.readLock().lock();
+        try {
+            Integer offset = offsets.get(name);
+            return offset == null ? Optional.empty() : Optional.of(read(offset));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Up to {@code limit} records with an id greater than {@code afterId}, in id order. */
+    public List<WidgetRecord> findAfter(long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<WidgetRecord> records = new ArrayList<>(Math.min(limit, namesById.size()));
+            for (String name : namesById.tailMap(afterId, false).values()) {
+                if (records.size() == limit) {
+                    break;
+                }
+                records.add(read(offsets.get(name)));
+            }
+            return records;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visits every record in id order. The lock is taken per chunk, not for the whole walk, so a
+     * slow consumer does not hold up writers.
+     */
+    public void forEach(Consumer<WidgetRecord> action) {
+        long afterId = 0;
+        List<WidgetRecord> chunk;
+        do {
+            chunk = findAfter(afterId, EXPORT_CHUNK);
+            chunk.forEach(action);
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).id();
+            }
+        } while (chunk.size() == EXPORT_CHUNK);
+    }
+
+    /** Appends a new widget and returns it with its id, or returns {@code null} if the name is taken. */
+    public WidgetRecord insert(String name, String description, long priceCents) {
+        List<WidgetRecord> inserted = insertAll(List.of(new WidgetRecord(0, name, description, priceCents, 0)));
+        return inserted.get(0);
+    }
+
+    /**
+     * Appends several widgets (their ids are ignored and assigned here) with a single sync.
+     * Returns one entry per draft: the stored record, or {@code null} where the name was taken.
+     */
+    public List<WidgetRecord> insertAll(List<WidgetRecord> drafts) {
+        lock.writeLock().lock();
+        try {
+            int start = writePosition;
+            List<WidgetRecord> inserted = new ArrayList<>(drafts.size());
+            for (WidgetRecord draft : drafts) {
+                if (offsets.containsKey(draft.name())) {
+                    inserted.add(null);
+                    continue;
+                }
+                WidgetRecord record = new WidgetRecord(nextId++, draft.name(), draft.description(), draft.priceCents(), 0);
+                int offset = append(PUT, record);
+                offsets.put(record.name(), offset);
+                namesById.put(record.id(), record.name());
+                liveBytes += recordSize(offset);
+                inserted.add(record);
+            }
+            sync(start);
+            return inserted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the widget called {@code name} with {@code change.apply(current)}, keeping its id and
+     * name and bumping its version. {@code change} runs under the write lock, so it may validate
+     * against the current state (and throw) without racing other writers. Returns {@code null}
+     * when no such widget exists.
+     */
+    public WidgetRecord update(String name, UnaryOperator<WidgetRecord> change) {
+        List<WidgetRecord> updated = updateAll(List.of(name), change);
+        return updated.isEmpty() ? null : updated.get(0);
+    }
+
+    /**
+     * Applies {@code change} to each named widget as {@link #update} does, under one write lock and
+     * with a single sync. Every change is computed before any is written, so one that throws leaves
+     * the log untouched. Names with no widget are skipped; returns the records written.
+     */
+    public List<WidgetRecord> updateAll(List<String> names, UnaryOperator<WidgetRecord> change) {
+        lock.writeLock().lock();
+        try {
+            List<WidgetRecord> records = new ArrayList<>(names.size());
+            for (String name : names) {
+                Integer previous = offsets.get(name);
+                if (previous != null) {
+                    WidgetRecord current = read(previous);
+                    WidgetRecord changed = change.apply(current);
+                    records.add(new WidgetRecord(current.id(), current.name(), changed.description(),
+                            changed.priceCents(), current.version() + 1));
+                }
+            }
+            int start = writePosition;
+            int[] appended = new int[records.size()];
+            for (int i = 0; i < records.size(); i++) {
+                appended[i] = append(PUT, records.get(i));
+            }
+            sync(start);
+            for (int i = 0; i < records.size(); i++) {
+                int previous = offsets.put(records.get(i).name(), appended[i]);
+                liveBytes += recordSize(appended[i]) - recordSize(previous);
+            }
+            return records;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean delete(String name) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = offsets.get(name);
+            if (previous == null) {
+                return false;
+            }
+            long id = idAt(previous);
+            int start = writePosition;
+            append(DELETE, new WidgetRecord(id, name, null, 0, 0));
+            sync(start);
+            offsets.remove(name);
+            namesById.remove(id);
+            liveBytes -= recordSize(previous);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return offsets.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Bytes of log written, live and dead. */
+    public long logBytes() {
+        lock.readLock().lock();
+        try {
+            return writePosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Share of the written log taken by superseded records and delete markers. */
+    public double garbageRatio() {
+        lock.readLock().lock();
+        try {
+            return writePosition == 0 ? 0.0 : 1.0 - (double) liveBytes / writePosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Rewrites the log with live records only, in id order. */
+    public void compact() throws IOException {
+        compaction.lock();
+        try {
+            Path target = directory.resolve(COMPACT_FILE);
+            Map<String, Integer> compacted = new HashMap<>();
+            TreeMap<Long, String> ids;
+            int copied;
+            long position;
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                // Readers carry on during the copy; writers wait for it, but not for the sync below.
+                lock.readLock().lock();
+                try {
+                    copied = writePosition;
+                    ids = new TreeMap<>(namesById);
+                    position = write(out, 0, encode(HIGH_WATER, new WidgetRecord(nextId - 1, "", null, 0, 0)));
+                    for (String name : ids.values()) {
+                        int offset = offsets.get(name);
+                        compacted.put(name, (int) position);
+                        position = write(out, position, buffer.slice(offset, recordSize(offset)));
+                    }
+                } finally {
+                    lock.readLock().unlock();
+                }
+                out.force(true);
+            }
+
+            lock.writeLock().lock();
+            try {
+                long before = writePosition;
+                long live = position;
+                // Records written since the copy go after it unchanged, in the order they were written.
+                try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                    position = write(out, position, buffer.slice(copied, writePosition - copied));
+                    out.force(true);
+                }
+                Path log = directory.resolve(LOG_FILE);
+                Files.move(target, log, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                syncDirectory();
+
+                channel.close();
+                channel = FileChannel.open(log, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, mappingSize(position));
+                offsets.clear();
+                offsets.putAll(compacted);
+                namesById.clear();
+                namesById.putAll(ids);
+                liveBytes = live;
+                writePosition = (int) position;
+                for (int offset = (int) live; offset < writePosition; offset += recordSize(offset)) {
+                    replay(offset);
+                }
+                logger.info("Compacted widget log from {} to {} bytes", before, position);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            compaction.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // --- Log format ---
+
+    private void recover() throws IOException {
+        int position = 0;
+        int capacity = buffer.capacity();
+        while (position + HEADER_BYTES <= capacity) {
+            int length = buffer.getInt(position);
+            if (length < FIXED_PAYLOAD_BYTES || length > capacity - position - HEADER_BYTES
+                    || buffer.getInt(position + 4) != checksum(position + HEADER_BYTES, length)) {
+                break;
+            }
+            replay(position);
+            position += HEADER_BYTES + length;
+        }
+        writePosition = position;
+        if (channel.size() > position) {
+            // Drop whatever follows the last good record (zeros, or a torn write) and re-extend
+            // with fresh zeros. The old mapping is not touched again after the truncate.
+            channel.truncate(position);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, mappingSize(position));
+        }
+        logger.info("Recovered widget log: {} widgets in {} bytes", offsets.size(), position);
+    }
+
+    private void replay(int offset) {
+        long id = idAt(offset);
+        nextId = Math.max(nextId, id + 1);
+        if (buffer.get(offset + HEADER_BYTES) == HIGH_WATER) {
+            liveBytes += recordSize(offset);
+            return;
+        }
+        String name = read(offset).name();
+        Integer previous = buffer.get(offset + HEADER_BYTES) == PUT
+                ? offsets.put(name, offset)
+                : offsets.remove(name);
+        if (previous != null) {
+            liveBytes -= recordSize(previous);
+            namesById.remove(idAt(previous));
+        }
+        if (buffer.get(offset + HEADER_BYTES) == PUT) {
+            namesById.put(id, name);
+            liveBytes += recordSize(offset);
+        }
+    }
+
+    private int append(byte type, WidgetRecord record) {
+        ByteBuffer encoded = encode(type, record);
+        int length = encoded.capacity() - HEADER_BYTES;
+        ensureCapacity((long) writePosition + encoded.capacity());
+
+        int offset = writePosition;
+        // The length goes in last, so a record cut short reads as the end of the log.
+        buffer.put(offset + HEADER_BYTES, encoded, HEADER_BYTES, length);
+        buffer.putInt(offset + 4, encoded.getInt(4));
+        buffer.putInt(offset, length);
+        writePosition += encoded.capacity();
+        return offset;
+    }
+
+    private static ByteBuffer encode(byte type, WidgetRecord record) {
+        byte[] name = record.name().getBytes(StandardCharsets.UTF_8);
+        byte[] description = record.description() == null
+                ? null
+                : record.description().getBytes(StandardCharsets.UTF_8);
+        int length = FIXED_PAYLOAD_BYTES + name.length + 4 + (description == null ? 0 : description.length);
+
+        ByteBuffer encoded = ByteBuffer.allocate(HEADER_BYTES + length);
+        int p = HEADER_BYTES;
+        encoded.put(p, type);
+        encoded.putLong(p + 1, record.id());
+        encoded.putLong(p + 9, record.version());
+        encoded.putLong(p + 17, record.priceCents());
+        encoded.putShort(p + 25, (short) name.length);
+        encoded.put(p + 27, name);
+        int d = p + 27 + name.length;
+        encoded.putInt(d, description == null ? -1 : description.length);
+        if (description != null) {
+            encoded.put(d + 4, description);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(encoded.slice(p, length));
+        encoded.putInt(4, (int) crc.getValue());
+        encoded.putInt(0, length);
+        return encoded;
+    }
+
+    private WidgetRecord read(int offset) {
+        int p = offset + HEADER_BYTES;
+        byte[] name = new byte[Short.toUnsignedInt(buffer.getShort(p + 25))];
+        buffer.get(p + 27, name);
+        int d = p + 27 + name.length;
+        int descriptionLength = buffer.getInt(d);
+        String description = null;
+        if (descriptionLength >= 0) {
+            byte[] bytes = new byte[descriptionLength];
+            buffer.get(d + 4, bytes);
+            description = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new WidgetRecord(buffer.getLong(p + 1), new String(name, StandardCharsets.UTF_8), description,
+                buffer.getLong(p + 17), buffer.getLong(p + 9));
+    }
+
+    private long idAt(int offset) {
+        return buffer.getLong(offset + HEADER_BYTES + 1);
+    }
+
+    private int recordSize(int offset) {
+        return HEADER_BYTES + buffer.getInt(offset);
+    }
+
+    private int checksum(int from, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(from, length));
+        return (int) crc.getValue();
+    }
+
+    private static long write(FileChannel out, long position, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            position += out.write(bytes, position);
+        }
+        return position;
+    }
+
+    private void sync(int from) {
+        if (syncWrites && writePosition > from) {
+            buffer.force(from, writePosition - from);
+        }
+    }
+
+    private void ensureCapacity(long required) {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Widget log is full; compaction could not keep it under 2 GiB");
+        }
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, mappingSize(required));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not grow the widget log", ex);
+        }
+    }
+
+    private long mappingSize(long used) {
+        return Math.min(Integer.MAX_VALUE, Math.max(initialSize, used * 2));
+    }
+
+    private void syncDirectory() {
+        // Makes the rename durable on POSIX file systems; not supported (and not needed) everywhere.
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException ex) {
+            logger.debug("Could not sync directory {}: {}", directory, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.talentreef.interviewquestions.takehome.edge;
+
+/**
+ * A widget as stored in the {@link WidgetLogStore}. Prices are whole cents; a {@code null}
+ * description is stored as such.
+ */
+public record WidgetRecord(long id, String name, String description, long priceCents, long version) {
+}
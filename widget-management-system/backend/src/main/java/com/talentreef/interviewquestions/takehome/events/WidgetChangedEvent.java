@@ -0,0 +1,21 @@
+package com.talentreef.interviewquestions.takehome.events;
+
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import lombok.Value;
+
+/**
+ * Published by the service layer for every widget mutation. Listeners that maintain derived
+ * state (caches, indexes, feeds) should react after commit so they never observe rolled-back writes.
+ */
+@Value
+public class WidgetChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    Type type;
+
+    String name;
+
+    /** State after the change; {@code null} for deletions. */
+    WidgetDTO widget;
+}
@@ -0,0 +1,8 @@
+package com.talentreef.interviewquestions.takehome.exceptions;
+
+public class DeltaSyncUnavailableException extends RuntimeException
+{
+    public DeltaSyncUnavailableException(String message) {
+        super(message);
+    }
+}
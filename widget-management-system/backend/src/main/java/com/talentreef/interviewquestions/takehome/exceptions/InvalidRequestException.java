@@ -0,0 +1,8 @@
+package com.talentreef.interviewquestions.takehome.exceptions;
+
+public class InvalidRequestException extends RuntimeException
+{
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
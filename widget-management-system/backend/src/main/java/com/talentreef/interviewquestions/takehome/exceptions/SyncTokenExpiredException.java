@@ -0,0 +1,9 @@
+package com.talentreef.interviewquestions.takehome.exceptions;
+
+/** A delta sync token this server cannot continue from; the client has to resync from scratch. */
+public class SyncTokenExpiredException extends RuntimeException
+{
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
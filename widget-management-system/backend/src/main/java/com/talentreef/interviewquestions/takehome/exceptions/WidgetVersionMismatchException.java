@@ -0,0 +1,8 @@
+package com.talentreef.interviewquestions.takehome.exceptions;
+
+public class WidgetVersionMismatchException extends RuntimeException
+{
+    public WidgetVersionMismatchException(String message) {
+        super(message);
+    }
+}
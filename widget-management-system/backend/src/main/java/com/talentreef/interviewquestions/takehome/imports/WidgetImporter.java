@@ -0,0 +1,240 @@
+package com.talentreef.interviewquestions.takehome.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.talentreef.interviewquestions.takehome.config.WidgetImportProperties;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetAlreadyExistsException;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkItemResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetImportError;
+import com.talentreef.interviewquestions.takehome.models.WidgetImportResult;
+import com.talentreef.interviewquestions.takehome.services.WidgetService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports widgets from a CSV or NDJSON upload. Rows are parsed one at a time straight off the
+ * request body and written in chunks, each through {@link WidgetService#bulkCreateWidgets} (or
+ * {@link WidgetService#bulkUpsertWidgets}) in its own transaction. Reading waits while a chunk
+ * commits, so the body is consumed no faster than the database accepts it and memory holds one
+ * chunk however large the file is.
+ *
+ * <p>Bad rows never stop an import: rows that do not parse or validate, and rows of a chunk that
+ * rolls back, are counted and reported while the rest carry on. Committed chunks stay committed.
+ */
+@Component
+public class WidgetImporter {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final Logger logger = LoggerFactory.getLogger(WidgetImporter.class);
+
+    private final WidgetService widgetService;
+    private final ObjectMapper objectMapper;
+    private final WidgetImportProperties properties;
+    private final ObjectReader csvReader;
+
+    public WidgetImporter(WidgetService widgetService, ObjectMapper objectMapper, WidgetImportProperties properties) {
+        this.widgetService = widgetService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        // The header row names the columns; unknown columns are ignored like unknown JSON fields.
+        this.csvReader = CsvMapper.builder()
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .build()
+                .readerFor(WidgetDTO.class)
+                .with(CsvSchema.emptySchema().withHeader());
+    }
+
+    /**
+     * Reads {@code body} to the end. {@code chunkSize} overrides the configured chunk size and is
+     * clamped to {@code [1, MAX_BULK_ITEMS]}; with {@code upsert}, rows naming existing widgets
+     * overwrite them instead of being skipped.
+     */
+    public WidgetImportResult importWidgets(InputStream body, Format format, boolean upsert, Integer chunkSize)
+            throws IOException {
+        int size = Math.max(1, Math.min(chunkSize == null ? properties.getChunkSize() : chunkSize,
+                WidgetService.MAX_BULK_ITEMS));
+        Batch batch = new Batch(size, upsert);
+        switch (format) {
+            case CSV -> readCsv(body, batch);
+            case NDJSON -> readNdjson(body, batch);
+        }
+        batch.flush();
+        WidgetImportResult result = batch.result();
+        logger.info("Imported {} rows: {} created, {} updated, {} skipped, {} invalid, {} failed",
+                result.getRows(), result.getCreated(), result.getUpdated(), result.getSkipped(),
+                result.getInvalid(), result.getFailed());
+        return result;
+    }
+
+    private void readCsv(InputStream body, Batch batch) throws IOException {
+        try (MappingIterator<WidgetDTO> rows = csvReader.readValues(body)) {
+            long lastFailedOffset = -1;
+            while (true) {
+                long line;
+                long offset;
+                try {
+                    if (!rows.hasNextValue()) {
+                        return;
+                    }
+                    line = rows.getCurrentLocation().getLineNr();
+                    offset = rows.getCurrentLocation().getCharOffset();
+                } catch (JsonProcessingException ex) {
+                    // Malformed CSV (an unclosed quote, say) leaves no record boundary to resume from.
+                    batch.stop(ex.getLocation() == null ? -1 : ex.getLocation().getLineNr(), ex.getOriginalMessage());
+                    return;
+                }
+                try {
+                    batch.accept(line, rows.nextValue());
+                } catch (JsonProcessingException ex) {
+                    batch.reject(line, null, ex.getOriginalMessage());
+                    // Skipping a bad record must move the parser on; if it did not, give up rather than spin.
+                    if (offset == lastFailedOffset) {
+                        batch.stop(line, "cannot find the next record");
+                        return;
+                    }
+                    lastFailedOffset = offset;
+                }
+            }
+        }
+    }
+
+    private void readNdjson(InputStream body, Batch batch) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                batch.accept(line, objectMapper.readValue(text, WidgetDTO.class));
+            } catch (JsonProcessingException ex) {
+                batch.reject(line, null, ex.getOriginalMessage());
+            }
+        }
+    }
+
+    /** The chunk being filled, plus running counts and the error report. */
+    private final class Batch {
+
+        private final int chunkSize;
+        private final boolean upsert;
+        private List<WidgetDTO> items;
+        private List<Long> lines;
+        private final List<WidgetImportError> errors = new ArrayList<>();
+        private long rows;
+        private long created;
+        private long updated;
+        private long skipped;
+        private long invalid;
+        private long failed;
+        private boolean errorsTruncated;
+
+        Batch(int chunkSize, boolean upsert) {
+            this.chunkSize = chunkSize;
+            this.upsert = upsert;
+            this.items = new ArrayList<>(chunkSize);
+            this.lines = new ArrayList<>(chunkSize);
+        }
+
+        void accept(long line, WidgetDTO widget) {
+            rows++;
+            items.add(widget);
+            lines.add(line);
+            if (items.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String name, String message) {
+            rows++;
+            invalid++;
+            report(line, name, List.of(message));
+        }
+
+        /** Records why reading ended before the end of the file; rows already read are still written. */
+        void stop(long line, String message) {
+            // Listed even past the cap: without it a truncated report would hide why the import ended early.
+            errors.add(WidgetImportError.builder().line(line).errors(List.of("Stopped reading: " + message)).build());
+        }
+
+        void flush() {
+            if (items.isEmpty()) {
+                return;
+            }
+            try {
+                WidgetBulkResult result = upsert
+                        ? widgetService.bulkUpsertWidgets(items)
+                        : widgetService.bulkCreateWidgets(items);
+                for (WidgetBulkItemResult item : result.getResults()) {
+                    long line = lines.get(item.getIndex());
+                    switch (item.getStatus()) {
+                        case CREATED -> created++;
+                        case UPDATED -> updated++;
+                        case CONFLICT -> {
+                            skipped++;
+                            report(line, item.getName(), item.getErrors());
+                        }
+                        case INVALID -> {
+                            invalid++;
+                            report(line, item.getName(), item.getErrors());
+                        }
+                    }
+                }
+            } catch (WidgetAlreadyExistsException | DataAccessException ex) {
+                // Only this chunk rolled back; earlier ones are committed and later ones still run.
+                logger.warn("Import chunk of {} rows rolled back: {}", items.size(), ex.getMessage());
+                failed += items.size();
+                for (int i = 0; i < items.size(); i++) {
+                    WidgetDTO widget = items.get(i);
+                    report(lines.get(i), widget == null ? null : widget.getName(),
+                            List.of("chunk rolled back: " + ex.getMessage()));
+                }
+            }
+            // Fresh lists rather than clear(): the service may still refer to the chunk it was given.
+            items = new ArrayList<>(chunkSize);
+            lines = new ArrayList<>(chunkSize);
+        }
+
+        WidgetImportResult result() {
+            return WidgetImportResult.builder()
+                    .rows(rows)
+                    .created(created)
+                    .updated(updated)
+                    .skipped(skipped)
+                    .invalid(invalid)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(errorsTruncated)
+                    .build();
+        }
+
+        private void report(long line, String name, List<String> messages) {
+            if (errors.size() < properties.getMaxReportedErrors()) {
+                errors.add(WidgetImportError.builder().line(line).name(name).errors(messages).build());
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+}
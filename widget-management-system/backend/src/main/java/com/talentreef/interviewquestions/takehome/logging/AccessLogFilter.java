@@ -0,0 +1,98 @@
+package com.talentreef.interviewquestions.takehome.logging;
+
+import com.talentreef.interviewquestions.takehome.config.AccessLogProperties;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+/**
+ * Writes one line per request to the {@code access} logger with method, path, status and duration
+ * as structured fields. Errors and slow requests are always logged; fast successes are sampled at
+ * {@code widgets.access-log.success-sample-rate}. Streaming responses are logged when they complete.
+ * Runs ahead of admission control so that shed requests are logged too.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+    private final AccessLogProperties properties;
+
+    public AccessLogFilter(AccessLogProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !accessLog.isInfoEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, response.getStatus(), start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                // An exception escaping the chain becomes a 500 after this filter has returned.
+                log(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), start);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long startNanos) {
+        long durationNanos = System.nanoTime() - startNanos;
+        if (!shouldLog(status, durationNanos)) {
+            return;
+        }
+        accessLog.info("{} {} {} {}",
+                keyValue("method", request.getMethod()),
+                keyValue("path", request.getRequestURI()),
+                keyValue("status", status),
+                keyValue("duration_ms", durationNanos / 1_000_000.0));
+    }
+
+    boolean shouldLog(int status, long durationNanos) {
+        if (status >= 400 || durationNanos >= properties.getSlowThreshold().toNanos()) {
+            return true;
+        }
+        double rate = properties.getSuccessSampleRate();
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
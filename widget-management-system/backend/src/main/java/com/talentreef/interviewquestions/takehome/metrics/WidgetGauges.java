@@ -0,0 +1,22 @@
+package com.talentreef.interviewquestions.takehome.metrics;
+
+import com.talentreef.interviewquestions.takehome.repositories.WidgetRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers {@code widgets.rows}, the current row count, evaluated on each scrape.
+ * Hikari pool gauges ({@code hikaricp.connections.*}) are bound by Spring Boot's auto-configuration.
+ */
+@Component
+@Profile("!edge")
+public class WidgetGauges {
+
+    public WidgetGauges(WidgetRepository widgetRepository, MeterRegistry meterRegistry) {
+        Gauge.builder("widgets.rows", widgetRepository, WidgetRepository::count)
+                .description("Number of widgets stored")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,110 @@
+package com.talentreef.interviewquestions.takehome.metrics;
+
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetAlreadyExistsException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetNotFoundException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetVersionMismatchException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolationException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every widget operation at the controller, service and repository layers as
+ * {@code widgets.operation}, tagged with {@code layer}, {@code operation} and {@code outcome}
+ * ({@code ok}, {@code not_found}, {@code conflict}, {@code invalid} or {@code error}).
+ * Comparing layers shows whether time goes to the database, to mapping, or to the web layer;
+ * {@code http.server.requests} additionally includes serialization. Histogram and SLO buckets
+ * are configured under {@code management.metrics.distribution}.
+ */
+@Aspect
+@Component
+public class WidgetMetricsAspect {
+
+    public static final String TIMER_NAME = "widgets.operation";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public WidgetMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.talentreef.interviewquestions.takehome.controllers..*) "
+            + "&& @within(org.springframework.web.bind.annotation.RestController)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("controller", joinPoint);
+    }
+
+    @Around("target(com.talentreef.interviewquestions.takehome.services.WidgetService)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("service", joinPoint);
+    }
+
+    @Around("target(com.talentreef.interviewquestions.takehome.repositories.WidgetRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("repository", joinPoint);
+    }
+
+    private Object time(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            record(layer, operation, outcomeOf(result), start);
+            return result;
+        } catch (Throwable ex) {
+            record(layer, operation, outcomeOf(ex), start);
+            throw ex;
+        }
+    }
+
+    private void record(String layer, String operation, String outcome, long startNanos) {
+        timers.computeIfAbsent(layer + ':' + operation + ':' + outcome, key -> Timer.builder(TIMER_NAME)
+                        .description("Latency of widget operations by layer")
+                        .tag("layer", layer)
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    static String outcomeOf(Object result) {
+        if (result instanceof ResponseEntity<?> response) {
+            int status = response.getStatusCode().value();
+            if (status == 404) return "not_found";
+            if (status == 409 || status == 412) return "conflict";
+            if (status >= 500) return "error";
+            if (status >= 400) return "invalid";
+        } else if (result instanceof Optional<?> optional && optional.isEmpty()) {
+            return "not_found";
+        }
+        return "ok";
+    }
+
+    static String outcomeOf(Throwable ex) {
+        if (ex instanceof WidgetNotFoundException
+                || (ex instanceof IllegalArgumentException && ex.getMessage() != null && ex.getMessage().contains("not found"))) {
+            return "not_found";
+        }
+        if (ex instanceof WidgetAlreadyExistsException || ex instanceof WidgetVersionMismatchException
+                || ex instanceof DataIntegrityViolationException || ex instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        if (ex instanceof InvalidRequestException || ex instanceof ConstraintViolationException) {
+            return "invalid";
+        }
+        return "error";
+    }
+}
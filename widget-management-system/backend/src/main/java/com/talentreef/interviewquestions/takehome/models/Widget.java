@@ -4,25 +4,39 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 
 @Data
 @Entity
-@Table(name = "widgets", uniqueConstraints = @UniqueConstraint(columnNames = "name"))
+@DynamicUpdate
+@Table(name = "widgets",
+        uniqueConstraints = @UniqueConstraint(name = Widget.NAME_CONSTRAINT, columnNames = "name"),
+        indexes = {
+                // Serves price-range filters and the (price, id) keyset order; name lookups use the unique index.
+                @Index(name = "idx_widgets_price_id", columnList = "price, id"),
+                // Serves ?since= delta reads, which scan a modification-sequence range.
+                @Index(name = "idx_widgets_mod_seq", columnList = "mod_seq")
+        })
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Widget {
 
+  /** Unique constraint on {@code name}; the single source of truth for name uniqueness. */
+  public static final String NAME_CONSTRAINT = "uk_widgets_name";
+
+  // Pooled sequence ids (rather than IDENTITY) let Hibernate batch inserts.
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "widget_seq")
+  @SequenceGenerator(name = "widget_seq", sequenceName = "widget_seq", allocationSize = 50)
   private Long id;
 
   @NotBlank(message = "Name cannot be blank")
   @Size(min = 3, max = 100, message = "Name must be between 3 and 100 characters")
-  @Column(nullable = false, unique = true)
+  @Column(nullable = false)
   private String name;
 
   @Size(min = 5, max = 1000, message = "Description must be between 5 and 1000 characters")
@@ -35,4 +49,14 @@ public class Widget {
   @Digits(integer = 5, fraction = 2, message = "Price must have up to 5 integer digits and 2 decimal places")
   @Column(nullable = false)
   private BigDecimal price;
+
+  @Version
+  private Long version;
+
+  /**
+   * Position of the last write to this row in the change order shared with tombstones; assigned
+   * by the service from {@code WidgetSyncSequence}, unique per write.
+   */
+  @Column(name = "mod_seq")
+  private Long modSeq;
 }
\ No newline at end of file
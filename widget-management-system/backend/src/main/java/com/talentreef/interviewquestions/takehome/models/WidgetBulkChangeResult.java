@@ -0,0 +1,24 @@
+package com.talentreef.interviewquestions.takehome.models;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk update or delete. {@code matched} widgets were selected and {@code names} lists
+ * them in id order; {@code affected} were actually written, which is 0 for a dry run.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetBulkChangeResult {
+
+    private boolean dryRun;
+
+    private int matched;
+
+    private int affected;
+
+    private List<String> names;
+}
@@ -0,0 +1,23 @@
+package com.talentreef.interviewquestions.takehome.models;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A set-based delete of every widget matching {@code filter} and, when given, named in
+ * {@code names}. Selection works as for {@link WidgetBulkUpdate}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetBulkDelete {
+
+    private WidgetFilter filter;
+
+    private List<String> names;
+
+    /** Report what would be deleted without deleting anything. */
+    private boolean dryRun;
+}
@@ -0,0 +1,27 @@
+package com.talentreef.interviewquestions.takehome.models;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of a single entry of a bulk request; {@code index} is its position in the request body.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetBulkItemResult {
+
+    public enum Status { CREATED, UPDATED, CONFLICT, INVALID }
+
+    private int index;
+
+    private String name;
+
+    private Status status;
+
+    private Long id;
+
+    private List<String> errors;
+}
@@ -0,0 +1,23 @@
+package com.talentreef.interviewquestions.takehome.models;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetBulkResult {
+
+    private int created;
+
+    /** Existing widgets overwritten by an upsert; always 0 for a plain bulk create. */
+    private int updated;
+
+    private int conflicts;
+
+    private int invalid;
+
+    private List<WidgetBulkItemResult> results;
+}
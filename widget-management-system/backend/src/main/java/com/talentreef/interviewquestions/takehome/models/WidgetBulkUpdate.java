@@ -0,0 +1,32 @@
+package com.talentreef.interviewquestions.takehome.models;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A set-based change: every widget matching {@code filter} and, when given, named in {@code names}
+ * gets the same changes. Only the filter's price range and name prefix select; its sort and fields
+ * are ignored. Set either {@code price} or {@code priceFactor} (1.05 raises prices by 5%, rounded
+ * half-up to cents), and optionally {@code description}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetBulkUpdate {
+
+    private WidgetFilter filter;
+
+    private List<String> names;
+
+    private BigDecimal price;
+
+    private BigDecimal priceFactor;
+
+    private String description;
+
+    /** Report what would change without writing anything. */
+    private boolean dryRun;
+}
@@ -17,6 +17,8 @@ public class WidgetDTO {
 
     @NotBlank(message = "Name cannot be blank")
     @Size(min = 3, max = 100, message = "Name must be between 3 and 100 characters")
+    // These names are routes of their own under /v1/widgets, so a widget with one could never be read.
+    @Pattern(regexp = "(?!(search|export|changes)$).*", message = "Name is reserved")
     private String name;
 
     @Size(min = 5, max = 1000, message = "Description must be between 5 and 1000 characters")
@@ -27,4 +29,10 @@ public class WidgetDTO {
     @DecimalMax(value = "20000.00", message = "Price cannot exceed 20000.00")
     @Digits(integer = 5, fraction = 2, message = "Price must have up to 5 integer digits and 2 decimal places")
     private BigDecimal price;
+
+    /**
+     * Optimistic-lock version. Ignored on create; on update, a non-null value must match the
+     * stored version or the update is rejected.
+     */
+    private Long version;
 }
\ No newline at end of file
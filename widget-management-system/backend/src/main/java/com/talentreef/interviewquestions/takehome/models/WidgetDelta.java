@@ -0,0 +1,26 @@
+package com.talentreef.interviewquestions.takehome.models;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Changes since a sync token: widgets created or modified, then names deleted. Apply
+ * {@code deleted} before {@code items}, since a name deleted and recreated in the window appears in both.
+ * Pass {@code token} back as {@code since}; while {@code more} is true, the next call continues
+ * this batch rather than waiting for new changes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetDelta {
+
+    private List<WidgetDTO> items;
+
+    private List<String> deleted;
+
+    private String token;
+
+    private boolean more;
+}
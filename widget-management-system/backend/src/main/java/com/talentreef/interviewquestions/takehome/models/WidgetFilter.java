@@ -0,0 +1,44 @@
+package com.talentreef.interviewquestions.takehome.models;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Criteria for a filtered listing: an inclusive price range, a case-sensitive name prefix, an
+ * ordering and a sparse fieldset. Every field is optional.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetFilter {
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private String namePrefix;
+
+    private WidgetSort sort;
+
+    /** Fields to return; {@code null} means all of them. */
+    private Set<String> fields;
+
+    /** True when nothing is filtered, the default id order applies and every field is wanted. */
+    public boolean isDefault() {
+        return isUnfiltered() && fields == null;
+    }
+
+    /** True when nothing is filtered and the default id order applies, whatever the fieldset. */
+    public boolean isUnfiltered() {
+        return minPrice == null && maxPrice == null
+                && (namePrefix == null || namePrefix.isEmpty())
+                && (sort == null || sort == WidgetSort.ID_ASC);
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+}
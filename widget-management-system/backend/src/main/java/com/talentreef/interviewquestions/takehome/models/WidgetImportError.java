@@ -0,0 +1,21 @@
+package com.talentreef.interviewquestions.takehome.models;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A row of an import that was not written; {@code line} is where it starts in the uploaded file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetImportError {
+
+    private long line;
+
+    private String name;
+
+    private List<String> errors;
+}
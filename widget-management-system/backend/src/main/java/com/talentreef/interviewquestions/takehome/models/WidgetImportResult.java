@@ -0,0 +1,35 @@
+package com.talentreef.interviewquestions.takehome.models;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of a file import. Every row read is counted once: {@code created} and {@code updated}
+ * rows were committed, {@code skipped} named an existing widget (or repeated a name within its
+ * chunk), {@code invalid} failed parsing or validation, and {@code failed} belonged to a chunk
+ * whose transaction rolled back. {@code errors} lists the rows not written, up to a configured cap.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetImportResult {
+
+    private long rows;
+
+    private long created;
+
+    private long updated;
+
+    private long skipped;
+
+    private long invalid;
+
+    private long failed;
+
+    private List<WidgetImportError> errors;
+
+    /** True when more rows failed than {@code errors} lists. */
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,20 @@
+package com.talentreef.interviewquestions.takehome.models;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated widget listing. {@code next} is an opaque cursor
+ * to pass back for the following page, or {@code null} when there are no more rows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetPage {
+
+    private List<WidgetDTO> items;
+
+    private String next;
+}
@@ -0,0 +1,52 @@
+package com.talentreef.interviewquestions.takehome.models;
+
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * Orderings supported by filtered listings, parsed from {@code sort=<field>[,asc|desc]}.
+ * Price orderings break ties by id so every ordering is total and can be paged by keyset.
+ */
+@Getter
+public enum WidgetSort {
+    ID_ASC(Key.ID, true),
+    NAME_ASC(Key.NAME, true),
+    NAME_DESC(Key.NAME, false),
+    PRICE_ASC(Key.PRICE, true),
+    PRICE_DESC(Key.PRICE, false);
+
+    public enum Key { ID, NAME, PRICE }
+
+    private final Key key;
+    private final boolean ascending;
+
+    WidgetSort(Key key, boolean ascending) {
+        this.key = key;
+        this.ascending = ascending;
+    }
+
+    /** Parses {@code price}, {@code price,desc}, {@code name,asc} and so on; {@code null} means id order. */
+    public static WidgetSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return ID_ASC;
+        }
+        String[] parts = value.trim().toLowerCase(Locale.ROOT).split("\\s*,\\s*");
+        boolean ascending = parts.length == 1 || "asc".equals(parts[1]);
+        if (parts.length > 2 || (parts.length == 2 && !ascending && !"desc".equals(parts[1]))) {
+            throw new InvalidRequestException("Invalid sort: " + value);
+        }
+        return switch (parts[0]) {
+            case "id" -> {
+                if (!ascending) {
+                    throw new InvalidRequestException("Invalid sort: " + value);
+                }
+                yield ID_ASC;
+            }
+            case "name" -> ascending ? NAME_ASC : NAME_DESC;
+            case "price" -> ascending ? PRICE_ASC : PRICE_DESC;
+            default -> throw new InvalidRequestException("Invalid sort: " + value);
+        };
+    }
+}
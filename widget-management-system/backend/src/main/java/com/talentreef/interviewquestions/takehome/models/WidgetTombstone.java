@@ -0,0 +1,31 @@
+package com.talentreef.interviewquestions.takehome.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Records that a widget name was deleted, so delta sync can tell clients to drop it. Deleting a
+ * widget still removes its row; the tombstone is the only trace left. A name deleted again after
+ * being recreated overwrites its tombstone.
+ */
+@Data
+@Entity
+@Table(name = "widget_tombstones",
+        indexes = @Index(name = "idx_widget_tombstones_mod_seq", columnList = "mod_seq"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WidgetTombstone {
+
+  @Id
+  @Column(length = 100)
+  private String name;
+
+  @Column(name = "mod_seq", nullable = false)
+  private long modSeq;
+
+  @Column(nullable = false)
+  private Instant deletedAt;
+}
@@ -1,14 +1,121 @@
 package com.talentreef.interviewquestions.takehome.repositories;
 
 import com.talentreef.interviewquestions.takehome.models.Widget;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+/**
+ * Widget persistence. Query methods run in read-only transactions unless they say otherwise; the
+ * {@code *Projected*} queries build {@link WidgetDTO}s directly, so reads never put managed
+ * entities (and their dirty-checking snapshots) into the persistence context.
+ */
 @Repository
-public interface WidgetRepository extends JpaRepository<Widget, Long> {
+@Transactional(readOnly = true)
+public interface WidgetRepository extends JpaRepository<Widget, Long>, WidgetRepositoryCustom {
+
+  /** Constructor expression shared by the projection queries; argument order follows {@link WidgetDTO}. */
+  String DTO_PROJECTION =
+      "new com.talentreef.interviewquestions.takehome.models.WidgetDTO(w.id, w.name, w.description, w.price, w.version)";
+
+  /** Loads the managed entity. Reads should use {@link #findProjectedByName}. */
   Optional<Widget> findByName(String name);
-  void deleteByName(String name);
+
+  /** Loads the managed entities for {@code names} in one query; for bulk upserts. */
+  List<Widget> findByNameIn(Collection<String> names);
   boolean existsByName(String name);
-}
\ No newline at end of file
+
+  @Query("select " + DTO_PROJECTION + " from Widget w where w.name = :name")
+  Optional<WidgetDTO> findProjectedByName(@Param("name") String name);
+
+  @Query("select " + DTO_PROJECTION + " from Widget w where w.name in :names")
+  List<WidgetDTO> findProjectedByNameIn(@Param("names") Collection<String> names);
+
+  @Query("select " + DTO_PROJECTION + " from Widget w order by w.id asc")
+  List<WidgetDTO> findAllProjected();
+
+  /**
+   * Deletes by name in a single statement, without loading the entity first.
+   * Returns the number of rows removed (0 or 1).
+   */
+  @Transactional
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from Widget w where w.name = :name")
+  int deleteByName(@Param("name") String name);
+
+  /**
+   * Keyset page: widgets with an id strictly greater than {@code afterId}, in id order.
+   * Only the page size of {@code pageable} is used; returning a {@link List} skips the count query.
+   */
+  @Query("select " + DTO_PROJECTION + " from Widget w where w.id > :afterId order by w.id asc")
+  List<WidgetDTO> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+  /**
+   * Widgets last written in {@code (since, until]}, in change order, loaded read-only. Only the
+   * page size of {@code pageable} is used.
+   */
+  @Query("select w from Widget w where w.modSeq > :since and w.modSeq <= :until order by w.modSeq asc")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+  List<Widget> findModifiedBetween(@Param("since") long since, @Param("until") long until, Pageable pageable);
+
+  /** Widgets last written in {@code (since, until]}, as DTOs; for events after a set-based update. */
+  @Query("select " + DTO_PROJECTION + " from Widget w where w.modSeq > :since and w.modSeq <= :until order by w.id asc")
+  List<WidgetDTO> findProjectedModifiedBetween(@Param("since") long since, @Param("until") long until);
+
+  /**
+   * Applies one bulk change to the given ids in a single statement whose text does not depend on
+   * the change. A null {@code description} or {@code price} keeps the stored value; otherwise the
+   * price becomes {@code round(price * factor, 2)} (pass 1 for no change), and rows that would leave
+   * {@code [minPrice, maxPrice]} are left untouched. Each row's version is bumped and its
+   * modification sequence set to {@code firstModSeq} plus its rank by id among {@code ids}, so the
+   * caller must have allocated {@code ids.size()} numbers. Returns the number of rows updated.
+   */
+  @Transactional
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Widget w set w.description = coalesce(:description, w.description), "
+      + "w.price = coalesce(:price, round(w.price * :factor, 2)), w.version = w.version + 1, "
+      + "w.modSeq = :firstModSeq + (select count(o) from Widget o where o.id in :ids and o.id < w.id) "
+      + "where w.id in :ids and coalesce(:price, round(w.price * :factor, 2)) between :minPrice and :maxPrice")
+  int updateByIdIn(@Param("ids") Collection<Long> ids, @Param("description") String description,
+                   @Param("price") BigDecimal price, @Param("factor") BigDecimal factor,
+                   @Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice,
+                   @Param("firstModSeq") long firstModSeq);
+
+  /** Deletes the given ids in a single statement; returns the number of rows removed. */
+  @Transactional
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("delete from Widget w where w.id in :ids")
+  int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("select coalesce(max(w.modSeq), 0) from Widget w")
+  long maxModSeq();
+
+  @Query("select w.name from Widget w where w.name in :names")
+  Set<String> findExistingNames(@Param("names") Collection<String> names);
+
+  /**
+   * Streams every widget in id order over a JDBC cursor. Must be consumed inside a transaction
+   * and closed by the caller; entities are loaded read-only so Hibernate keeps no snapshots.
+   */
+  @Query("select w from Widget w order by w.id asc")
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<Widget> streamAll();
+}
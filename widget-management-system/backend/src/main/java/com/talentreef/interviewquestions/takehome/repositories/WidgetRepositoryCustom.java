@@ -0,0 +1,30 @@
+package com.talentreef.interviewquestions.takehome.repositories;
+
+import com.talentreef.interviewquestions.takehome.models.Widget;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+public interface WidgetRepositoryCustom {
+
+  /**
+   * Returns at most {@code limit} widgets matching {@code spec} in {@code sort} order, as a
+   * single query with a row limit. Unlike the {@code Pageable} finders, it never issues a count.
+   * Rows are projected straight into DTOs; without {@code withDescription} the description column
+   * is not selected at all.
+   */
+  List<WidgetDTO> findTop(Specification<Widget> spec, Sort sort, int limit, boolean withDescription);
+
+  /**
+   * Updates the widget called {@code name} and returns its new state from the same statement, or
+   * empty when no row was changed. With an {@code expectedVersion}, only a row still at that
+   * version is changed, so the optimistic-lock check and the write cannot be interleaved. A null
+   * {@code description} or {@code price} keeps the stored value; the version is bumped as JPA would.
+   */
+  Optional<WidgetDTO> updateReturning(String name, Long expectedVersion, String description, BigDecimal price,
+                                      long modSeq);
+}
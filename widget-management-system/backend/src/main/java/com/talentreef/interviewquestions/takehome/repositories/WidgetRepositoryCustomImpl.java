@@ -0,0 +1,83 @@
+package com.talentreef.interviewquestions.takehome.repositories;
+
+import com.talentreef.interviewquestions.takehome.models.Widget;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+class WidgetRepositoryCustomImpl implements WidgetRepositoryCustom {
+
+    // H2's data change delta table (its UPDATE ... RETURNING): the query yields the rows the inner
+    // UPDATE wrote, as they are after it, in one round trip. The casts type the nullable parameters.
+    private static final String UPDATE_RETURNING = "select id, name, description, price, version from final table ("
+            + "update widgets set description = coalesce(cast(:description as varchar(1000)), description), "
+            + "price = coalesce(cast(:price as numeric(7, 2)), price), mod_seq = :modSeq, version = version + 1 "
+            + "where name = :name";
+
+    private final EntityManager entityManager;
+
+    WidgetRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<WidgetDTO> findTop(Specification<Widget> spec, Sort sort, int limit, boolean withDescription) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<WidgetDTO> query = cb.createQuery(WidgetDTO.class);
+        Root<Widget> root = query.from(Widget.class);
+        query.select(cb.construct(WidgetDTO.class,
+                root.get("id"),
+                root.get("name"),
+                withDescription ? root.get("description") : cb.nullLiteral(String.class),
+                root.get("price"),
+                root.get("version")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Transactional
+    @Override
+    public Optional<WidgetDTO> updateReturning(String name, Long expectedVersion, String description, BigDecimal price,
+                                               long modSeq) {
+        @SuppressWarnings("unchecked")
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(expectedVersion == null
+                        ? UPDATE_RETURNING + ")"
+                        : UPDATE_RETURNING + " and version = :version)")
+                .unwrap(NativeQuery.class);
+        query.addSynchronizedEntityClass(Widget.class);
+        query.setParameter("name", name);
+        query.setParameter("description", description, StandardBasicTypes.STRING);
+        query.setParameter("price", price, StandardBasicTypes.BIG_DECIMAL);
+        query.setParameter("modSeq", modSeq);
+        if (expectedVersion != null) {
+            query.setParameter("version", expectedVersion);
+        }
+        List<Object[]> rows = query.getResultList();
+        // The statement bypassed the persistence context; drop anything it made stale.
+        entityManager.clear();
+        return rows.stream()
+                .findFirst()
+                .map(row -> new WidgetDTO(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                        (BigDecimal) row[3], ((Number) row[4]).longValue()));
+    }
+}
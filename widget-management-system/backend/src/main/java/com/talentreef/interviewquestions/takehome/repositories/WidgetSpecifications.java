@@ -0,0 +1,89 @@
+package com.talentreef.interviewquestions.takehome.repositories;
+
+import com.talentreef.interviewquestions.takehome.models.Widget;
+import com.talentreef.interviewquestions.takehome.models.WidgetFilter;
+import com.talentreef.interviewquestions.takehome.models.WidgetSort;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Predicates for filtered, keyset-paginated listings. Each one is shaped to use an index:
+ * price ranges and price orderings use {@code idx_widgets_price_id}, name prefixes and name
+ * orderings use the unique index on {@code name}.
+ */
+public final class WidgetSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private WidgetSpecifications() {
+    }
+
+    public static Specification<Widget> matching(WidgetFilter filter) {
+        Specification<Widget> spec = Specification.where(null);
+        if (filter.getMinPrice() != null) {
+            spec = spec.and(priceAtLeast(filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            spec = spec.and(priceAtMost(filter.getMaxPrice()));
+        }
+        if (filter.getNamePrefix() != null && !filter.getNamePrefix().isEmpty()) {
+            spec = spec.and(nameStartsWith(filter.getNamePrefix()));
+        }
+        return spec;
+    }
+
+    public static Specification<Widget> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Widget> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    /** A left-anchored, case-sensitive LIKE, which the database can answer from the name index. */
+    public static Specification<Widget> nameStartsWith(String prefix) {
+        String pattern = prefix
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get("name"), pattern, LIKE_ESCAPE);
+    }
+
+    /** Names in {@code names}, answered from the unique name index; {@code names} must not be empty. */
+    public static Specification<Widget> nameIn(Collection<String> names) {
+        return (root, query, cb) -> root.get("name").in(names);
+    }
+
+    /** Rows strictly after the id-ordered position {@code afterId}. */
+    public static Specification<Widget> afterId(long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    /** Rows strictly after {@code name} in the given direction; names are unique, so no tie-break. */
+    public static Specification<Widget> afterName(String name, boolean ascending) {
+        return (root, query, cb) -> ascending
+                ? cb.greaterThan(root.get("name"), name)
+                : cb.lessThan(root.get("name"), name);
+    }
+
+    /** Rows strictly after {@code (price, id)} in the given direction. */
+    public static Specification<Widget> afterPrice(BigDecimal price, long id, boolean ascending) {
+        return (root, query, cb) -> ascending
+                ? cb.or(cb.greaterThan(root.get("price"), price),
+                        cb.and(cb.equal(root.get("price"), price), cb.greaterThan(root.get("id"), id)))
+                : cb.or(cb.lessThan(root.get("price"), price),
+                        cb.and(cb.equal(root.get("price"), price), cb.lessThan(root.get("id"), id)));
+    }
+
+    public static Sort orderOf(WidgetSort sort) {
+        Sort.Direction direction = sort.isAscending() ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return switch (sort.getKey()) {
+            case ID -> Sort.by(Sort.Direction.ASC, "id");
+            case NAME -> Sort.by(direction, "name");
+            case PRICE -> Sort.by(direction, "price", "id");
+        };
+    }
+}
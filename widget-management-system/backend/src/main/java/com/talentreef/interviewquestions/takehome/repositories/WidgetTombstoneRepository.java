@@ -0,0 +1,31 @@
+package com.talentreef.interviewquestions.takehome.repositories;
+
+import com.talentreef.interviewquestions.takehome.models.WidgetTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Transactional(readOnly = true)
+public interface WidgetTombstoneRepository extends JpaRepository<WidgetTombstone, String> {
+
+  /** Tombstones written in {@code (since, until]}, in change order; only the page size of {@code pageable} is used. */
+  @Query("select t from WidgetTombstone t where t.modSeq > :since and t.modSeq <= :until order by t.modSeq asc")
+  List<WidgetTombstone> findWrittenBetween(@Param("since") long since, @Param("until") long until, Pageable pageable);
+
+  /** Removes earlier tombstones of {@code names}, so fresh ones can be inserted without a lookup each. */
+  @Transactional
+  @Modifying(flushAutomatically = true)
+  @Query("delete from WidgetTombstone t where t.name in :names")
+  int deleteByNameIn(@Param("names") Collection<String> names);
+
+  @Query("select coalesce(max(t.modSeq), 0) from WidgetTombstone t")
+  long maxModSeq();
+}
@@ -0,0 +1,190 @@
+package com.talentreef.interviewquestions.takehome.search;
+
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * In-process search index over widget names and descriptions.
+ *
+ * <p>Every word of a name is kept in a sorted skip list, so a prefix lookup is a range scan rather
+ * than a table scan. Description words go into an inverted index and match whole tokens. All query
+ * tokens must match (AND). Results are ranked as follows:
+ * <ul>
+ *   <li>an exact name word scores 3;</li>
+ *   <li>a name word prefix scores 2;</li>
+ *   <li>a description token scores 1;</li>
+ *   <li>a name that starts with the whole query gets a bonus.</li>
+ * </ul>
+ *
+ * <p>The index follows committed writes through {@link WidgetChangedEvent}s and is filled at
+ * startup by {@link WidgetSearchIndexLoader}. Updates to one name are serialized by its entry.
+ * While a load runs, names changed by events are remembered and the load leaves them alone, so a
+ * row read before a write committed cannot overwrite the write or bring back a deleted widget.
+ */
+@Component
+public class WidgetSearchIndex {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int EXACT_NAME_WORD = 3;
+    private static final int NAME_WORD_PREFIX = 2;
+    private static final int DESCRIPTION_TOKEN = 1;
+    private static final int NAME_PREFIX_BONUS = 5;
+
+    /** Keys are {@code word + '\0' + name}, so all names with a word starting with p sort together. */
+    private final ConcurrentSkipListSet<String> nameWords = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, Set<String>> descriptionPostings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    /** Names changed by events since {@link #beginLoad()}; null when no load is running. */
+    private volatile Set<String> changedDuringLoad;
+
+    private record Entry(Set<String> nameWords, Set<String> descriptionTokens) {
+    }
+
+    public void put(WidgetDTO widget) {
+        entries.compute(widget.getName(), (name, previous) -> index(name, previous, widget));
+    }
+
+    public void remove(String name) {
+        entries.computeIfPresent(name, (key, previous) -> {
+            unindex(key, previous);
+            return null;
+        });
+    }
+
+    /** Starts remembering the names that events change, until {@link #endLoad()}. */
+    public void beginLoad() {
+        changedDuringLoad = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Indexes a row read by a load, unless an event changed its name since {@link #beginLoad()}:
+     * the event carries the newer state. Returns whether the row was indexed.
+     */
+    public boolean load(WidgetDTO widget) {
+        Set<String> changed = changedDuringLoad;
+        boolean[] indexed = {false};
+        entries.compute(widget.getName(), (name, previous) -> {
+            // Checked inside compute: an event marks its name before it takes the entry.
+            if (changed != null && changed.contains(name)) {
+                return previous;
+            }
+            indexed[0] = true;
+            return index(name, previous, widget);
+        });
+        return indexed[0];
+    }
+
+    public void endLoad() {
+        changedDuringLoad = null;
+    }
+
+    private Entry index(String name, Entry previous, WidgetDTO widget) {
+        if (previous != null) {
+            unindex(name, previous);
+        }
+        Entry entry = new Entry(tokenize(name), tokenize(widget.getDescription()));
+        entry.nameWords().forEach(word -> nameWords.add(word + SEPARATOR + name));
+        entry.descriptionTokens().forEach(token -> descriptionPostings.compute(token, (t, names) -> {
+            Set<String> postings = names != null ? names : ConcurrentHashMap.newKeySet();
+            postings.add(name);
+            return postings;
+        }));
+        return entry;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the names of all widgets matching every token of {@code query}, best match first
+     * and ties broken by name.
+     */
+    public List<String> search(String query) {
+        Set<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Integer> scores = null;
+        for (String token : tokens) {
+            Map<String, Integer> tokenScores = new HashMap<>();
+            for (String key : nameWords.subSet(token, true, token + Character.MAX_VALUE, false)) {
+                int separator = key.indexOf(SEPARATOR);
+                int score = separator == token.length() ? EXACT_NAME_WORD : NAME_WORD_PREFIX;
+                tokenScores.merge(key.substring(separator + 1), score, Math::max);
+            }
+            for (String name : descriptionPostings.getOrDefault(token, Set.of())) {
+                tokenScores.merge(name, DESCRIPTION_TOKEN, Integer::sum);
+            }
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                scores.keySet().retainAll(tokenScores.keySet());
+                scores.replaceAll((name, score) -> score + tokenScores.get(name));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        String phrase = query.trim().toLowerCase(Locale.ROOT);
+        List<Map.Entry<String, Integer>> ranked = new ArrayList<>(scores.size());
+        for (Map.Entry<String, Integer> match : scores.entrySet()) {
+            boolean namePrefix = match.getKey().toLowerCase(Locale.ROOT).startsWith(phrase);
+            ranked.add(Map.entry(match.getKey(), match.getValue() + (namePrefix ? NAME_PREFIX_BONUS : 0)));
+        }
+        ranked.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWidgetChanged(WidgetChangedEvent event) {
+        Set<String> changed = changedDuringLoad;
+        if (changed != null) {
+            changed.add(event.getName());
+        }
+        if (event.getType() == WidgetChangedEvent.Type.DELETED) {
+            remove(event.getName());
+        } else {
+            put(event.getWidget());
+        }
+    }
+
+    private void unindex(String name, Entry entry) {
+        entry.nameWords().forEach(word -> nameWords.remove(word + SEPARATOR + name));
+        entry.descriptionTokens().forEach(token -> descriptionPostings.computeIfPresent(token, (t, names) -> {
+            names.remove(name);
+            return names.isEmpty() ? null : names;
+        }));
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,46 @@
+package com.talentreef.interviewquestions.takehome.search;
+
+import com.talentreef.interviewquestions.takehome.services.WidgetService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the {@link WidgetSearchIndex} from the database once the application is ready, streaming
+ * the table through the export path so the load does not hold it in memory twice.
+ *
+ * <p>Change events keep arriving while the table is read. Rows whose widget changed after the load
+ * began are skipped, since the index already holds the state the event brought.
+ */
+@Component
+public class WidgetSearchIndexLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(WidgetSearchIndexLoader.class);
+
+    private final WidgetService widgetService;
+    private final WidgetSearchIndex searchIndex;
+
+    public WidgetSearchIndexLoader(WidgetService widgetService, WidgetSearchIndex searchIndex) {
+        this.widgetService = widgetService;
+        this.searchIndex = searchIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long[] skipped = {0};
+        searchIndex.beginLoad();
+        long indexed;
+        try {
+            indexed = widgetService.exportWidgets(widget -> {
+                if (!searchIndex.load(widget)) {
+                    skipped[0]++;
+                }
+            });
+        } finally {
+            searchIndex.endLoad();
+        }
+        logger.info("Indexed {} widgets for search, {} already changed during the load", indexed - skipped[0], skipped[0]);
+    }
+}
@@ -0,0 +1,462 @@
+package com.talentreef.interviewquestions.takehome.services;
+
+import com.talentreef.interviewquestions.takehome.edge.WidgetLogStore;
+import com.talentreef.interviewquestions.takehome.edge.WidgetRecord;
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.exceptions.DeltaSyncUnavailableException;
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetAlreadyExistsException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetNotFoundException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetVersionMismatchException;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkChangeResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkDelete;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkItemResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkUpdate;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetDelta;
+import com.talentreef.interviewquestions.takehome.models.WidgetFilter;
+import com.talentreef.interviewquestions.takehome.models.WidgetPage;
+import com.talentreef.interviewquestions.takehome.models.WidgetSort;
+import com.talentreef.interviewquestions.takehome.search.WidgetSearchIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * {@link WidgetService} for the {@code edge} profile, backed by the memory-mapped
+ * {@link WidgetLogStore} instead of JPA. Point reads and id-ordered pages are index lookups.
+ * Filtered and sorted listings scan the log, which suits the catalog sizes edge nodes hold.
+ */
+@Service
+@Profile("edge")
+public class EdgeWidgetService implements WidgetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EdgeWidgetService.class);
+
+    private final WidgetLogStore store;
+    private final Validator validator;
+    private final WidgetSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EdgeWidgetService(WidgetLogStore store, Validator validator, WidgetSearchIndex searchIndex,
+                             ApplicationEventPublisher eventPublisher) {
+        this.store = store;
+        this.validator = validator;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public List<WidgetDTO> getAllWidgets() {
+        List<WidgetDTO> widgets = new ArrayList<>(store.size());
+        store.forEach(record -> widgets.add(toDTO(record)));
+        return widgets;
+    }
+
+    @Override
+    public WidgetPage getWidgetPage(String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        List<WidgetRecord> rows = store.findAfter(WidgetCursor.decode(cursor), pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<WidgetDTO> items = rows.stream().limit(pageSize).map(EdgeWidgetService::toDTO).toList();
+        String next = hasMore ? WidgetCursor.encode(items.get(items.size() - 1).getId()) : null;
+        return WidgetPage.builder().items(items).next(next).build();
+    }
+
+    @Override
+    public WidgetPage getWidgetPage(WidgetFilter filter, String cursor, Integer limit) {
+        if (filter == null || filter.isDefault()) {
+            return getWidgetPage(cursor, limit);
+        }
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new InvalidRequestException("minPrice must not exceed maxPrice");
+        }
+        WidgetSort sort = filter.getSort() == null ? WidgetSort.ID_ASC : filter.getSort();
+        int pageSize = pageSize(limit);
+        Comparator<WidgetDTO> order = orderOf(sort);
+        Predicate<WidgetDTO> matches = matching(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            WidgetDTO pivot = pivotOf(WidgetCursor.decode(cursor, sort));
+            matches = matches.and(widget -> order.compare(widget, pivot) > 0);
+        }
+
+        List<WidgetDTO> rows = new ArrayList<>();
+        Predicate<WidgetDTO> include = matches;
+        store.forEach(record -> {
+            WidgetDTO widget = toDTO(record);
+            if (include.test(widget)) {
+                rows.add(widget);
+            }
+        });
+        rows.sort(order);
+        boolean hasMore = rows.size() > pageSize;
+        List<WidgetDTO> items = rows.stream()
+                .limit(pageSize)
+                .map(widget -> filter.includes("description") ? widget : withoutDescription(widget))
+                .toList();
+        String next = hasMore ? WidgetCursor.encode(WidgetCursor.positionOf(sort, items.get(items.size() - 1))) : null;
+        return WidgetPage.builder().items(items).next(next).build();
+    }
+
+    @Override
+    public WidgetPage searchWidgets(String query, String cursor, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be blank");
+        }
+        int pageSize = pageSize(limit);
+        int offset = WidgetCursor.decodeOffset(cursor);
+        List<String> ranked = searchIndex.search(query);
+        if (offset >= ranked.size()) {
+            return WidgetPage.builder().items(List.of()).build();
+        }
+        int end = Math.min(offset + pageSize, ranked.size());
+        List<WidgetDTO> items = ranked.subList(offset, end).stream()
+                .map(name -> store.findByName(name).map(EdgeWidgetService::toDTO).orElse(null))
+                .filter(Objects::nonNull)
+                .toList();
+        String next = end < ranked.size() ? WidgetCursor.encodeOffset(end) : null;
+        return WidgetPage.builder().items(items).next(next).build();
+    }
+
+    @Override
+    public WidgetDTO getWidgetByName(String name) {
+        return store.findByName(name)
+                .map(EdgeWidgetService::toDTO)
+                .orElseThrow(() -> new IllegalArgumentException("Widget not found"));
+    }
+
+    /** The log is the store and nothing caches it, so this is {@link #getWidgetByName}. */
+    @Override
+    public WidgetDTO getCurrentWidget(String name) {
+        return getWidgetByName(name);
+    }
+
+    /**
+     * The log has no change order shared across widgets and keeps no tombstones once compacted, so
+     * it cannot answer "what changed since"; clients fall back to a full listing.
+     */
+    @Override
+    public WidgetDelta getChanges(String since, Integer limit) {
+        throw new DeltaSyncUnavailableException("Delta sync is not available on edge nodes; list without since");
+    }
+
+    @Override
+    public long exportWidgets(Consumer<WidgetDTO> sink) {
+        long[] exported = {0};
+        store.forEach(record -> {
+            sink.accept(toDTO(record));
+            exported[0]++;
+        });
+        return exported[0];
+    }
+
+    @Override
+    public WidgetDTO createWidget(WidgetDTO dto) {
+        if (dto.getPrice() == null) {
+            throw new InvalidRequestException("Price cannot be null");
+        }
+        WidgetRecord saved = store.insert(dto.getName(), dto.getDescription(), toCents(dto.getPrice()));
+        if (saved == null) {
+            logger.warn("Widget already exists with name: {}", dto.getName());
+            throw new WidgetAlreadyExistsException("Widget with name '" + dto.getName() + "' already exists.");
+        }
+        WidgetDTO created = toDTO(saved);
+        publish(WidgetChangedEvent.Type.CREATED, created.getName(), created);
+        return created;
+    }
+
+    @Override
+    public WidgetBulkResult bulkCreateWidgets(List<WidgetDTO> dtos) {
+        return bulkWrite(dtos, false);
+    }
+
+    @Override
+    public WidgetBulkResult bulkUpsertWidgets(List<WidgetDTO> dtos) {
+        return bulkWrite(dtos, true);
+    }
+
+    private WidgetBulkResult bulkWrite(List<WidgetDTO> dtos, boolean upsert) {
+        if (dtos.size() > MAX_BULK_ITEMS) {
+            throw new InvalidRequestException("Bulk requests are limited to " + MAX_BULK_ITEMS + " widgets");
+        }
+        logger.info("Bulk {} {} widgets", upsert ? "upserting" : "creating", dtos.size());
+        WidgetBulkItemResult[] results = new WidgetBulkItemResult[dtos.size()];
+        Set<String> seenNames = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>(dtos.size());
+        List<WidgetRecord> drafts = new ArrayList<>(dtos.size());
+
+        for (int i = 0; i < dtos.size(); i++) {
+            WidgetDTO dto = dtos.get(i);
+            if (dto == null) {
+                results[i] = itemResult(i, null, WidgetBulkItemResult.Status.INVALID, null, List.of("widget: must not be null"));
+                continue;
+            }
+            Set<ConstraintViolation<WidgetDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                List<String> errors = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .toList();
+                results[i] = itemResult(i, dto.getName(), WidgetBulkItemResult.Status.INVALID, null, errors);
+            } else if (!seenNames.add(dto.getName())) {
+                results[i] = itemResult(i, dto.getName(), WidgetBulkItemResult.Status.CONFLICT, null,
+                        List.of("name: duplicated within the request"));
+            } else {
+                WidgetRecord updated = upsert ? updateExisting(dto) : null;
+                if (updated != null) {
+                    results[i] = itemResult(i, dto.getName(), WidgetBulkItemResult.Status.UPDATED, updated.id(), null);
+                } else {
+                    candidates.add(i);
+                    drafts.add(new WidgetRecord(0, dto.getName(), dto.getDescription(), toCents(dto.getPrice()), 0));
+                }
+            }
+        }
+
+        // One append run and one sync for the whole batch.
+        List<WidgetRecord> inserted = store.insertAll(drafts);
+        for (int k = 0; k < candidates.size(); k++) {
+            int i = candidates.get(k);
+            WidgetRecord saved = inserted.get(k);
+            String name = dtos.get(i).getName();
+            if (saved == null) {
+                results[i] = itemResult(i, name, WidgetBulkItemResult.Status.CONFLICT, null,
+                        List.of("name: widget with name '" + name + "' already exists"));
+            } else {
+                results[i] = itemResult(i, name, WidgetBulkItemResult.Status.CREATED, saved.id(), null);
+                publish(WidgetChangedEvent.Type.CREATED, name, toDTO(saved));
+            }
+        }
+
+        List<WidgetBulkItemResult> items = Arrays.asList(results);
+        WidgetBulkResult result = WidgetBulkResult.builder()
+                .created(count(items, WidgetBulkItemResult.Status.CREATED))
+                .updated(count(items, WidgetBulkItemResult.Status.UPDATED))
+                .conflicts(count(items, WidgetBulkItemResult.Status.CONFLICT))
+                .invalid(count(items, WidgetBulkItemResult.Status.INVALID))
+                .results(items)
+                .build();
+        logger.info("Bulk wrote {} new and {} updated widgets", result.getCreated(), result.getUpdated());
+        return result;
+    }
+
+    /** Overwrites the widget named by {@code dto}; returns {@code null} when there is none. */
+    private WidgetRecord updateExisting(WidgetDTO dto) {
+        long priceCents = toCents(dto.getPrice());
+        WidgetRecord updated = store.update(dto.getName(), current -> new WidgetRecord(current.id(), current.name(),
+                dto.getDescription() != null ? dto.getDescription() : current.description(),
+                priceCents, current.version()));
+        if (updated != null) {
+            publish(WidgetChangedEvent.Type.UPDATED, dto.getName(), toDTO(updated));
+        }
+        return updated;
+    }
+
+    @Override
+    public WidgetDTO updateWidget(String name, WidgetDTO dto) {
+        Long priceCents = dto.getPrice() == null ? null : toCents(dto.getPrice());
+        WidgetRecord updated = store.update(name, current -> {
+            if (dto.getVersion() != null && dto.getVersion() != current.version()) {
+                logger.warn("Version mismatch updating widget {}: expected {}, found {}",
+                        name, dto.getVersion(), current.version());
+                throw new WidgetVersionMismatchException("Widget '" + name + "' has been modified by another request");
+            }
+            return new WidgetRecord(current.id(), current.name(),
+                    dto.getDescription() != null ? dto.getDescription() : current.description(),
+                    priceCents != null ? priceCents : current.priceCents(),
+                    current.version());
+        });
+        if (updated == null) {
+            logger.debug("Widget not found with name: {}", name);
+            throw new IllegalArgumentException("Widget not found");
+        }
+        WidgetDTO result = toDTO(updated);
+        publish(WidgetChangedEvent.Type.UPDATED, name, result);
+        return result;
+    }
+
+    @Override
+    public void deleteWidget(String name) {
+        if (name == null || name.isBlank() || !store.delete(name)) {
+            logger.debug("Widget not found with name: {}", name);
+            throw new WidgetNotFoundException("Widget with name '" + name + "' not found");
+        }
+        publish(WidgetChangedEvent.Type.DELETED, name, null);
+    }
+
+    /**
+     * The log has no multi-row statements, so each selected widget is rewritten in turn. Every
+     * selected row is checked up front, and again under the store's lock as it is rewritten.
+     */
+    @Override
+    public WidgetBulkChangeResult bulkUpdateWidgets(WidgetBulkUpdate request) {
+        WidgetBulkChanges.checkChanges(request);
+        List<WidgetDTO> selected = selectForBulk(request.getFilter(), request.getNames());
+        WidgetBulkChanges.checkPrices(selected, request);
+        List<String> names = selected.stream().map(WidgetDTO::getName).toList();
+        if (request.isDryRun() || selected.isEmpty()) {
+            return WidgetBulkChanges.result(request.isDryRun(), selected.size(), 0, names);
+        }
+        // Each row is re-checked against its state under the store's write lock, and nothing is
+        // written unless every row passes, so a price changed since the selection cannot leave the
+        // update half applied.
+        List<WidgetRecord> updated = store.updateAll(names, current -> {
+            BigDecimal price = WidgetBulkChanges.newPrice(BigDecimal.valueOf(current.priceCents(), 2), request);
+            WidgetBulkChanges.checkPrices(List.of(toDTO(current)), request);
+            return new WidgetRecord(current.id(), current.name(),
+                    request.getDescription() != null ? request.getDescription() : current.description(),
+                    toCents(price), current.version());
+        });
+        List<String> updatedNames = new ArrayList<>(updated.size());
+        for (WidgetRecord record : updated) {
+            updatedNames.add(record.name());
+            publish(WidgetChangedEvent.Type.UPDATED, record.name(), toDTO(record));
+        }
+        return WidgetBulkChanges.result(false, selected.size(), updatedNames.size(), updatedNames);
+    }
+
+    @Override
+    public WidgetBulkChangeResult bulkDeleteWidgets(WidgetBulkDelete request) {
+        List<WidgetDTO> selected = selectForBulk(request.getFilter(), request.getNames());
+        List<String> names = selected.stream().map(WidgetDTO::getName).toList();
+        if (request.isDryRun() || selected.isEmpty()) {
+            return WidgetBulkChanges.result(request.isDryRun(), selected.size(), 0, names);
+        }
+        int affected = 0;
+        for (String name : names) {
+            if (store.delete(name)) {
+                affected++;
+                publish(WidgetChangedEvent.Type.DELETED, name, null);
+            }
+        }
+        return WidgetBulkChanges.result(false, selected.size(), affected, names);
+    }
+
+    // --- Helpers ---
+    private List<WidgetDTO> selectForBulk(WidgetFilter filter, List<String> names) {
+        WidgetBulkChanges.checkSelection(filter, names);
+        Predicate<WidgetDTO> matches = filter == null ? widget -> true : matching(filter);
+        if (names != null) {
+            Set<String> named = new HashSet<>(names);
+            matches = matches.and(widget -> named.contains(widget.getName()));
+        }
+        List<WidgetDTO> selected = new ArrayList<>();
+        Predicate<WidgetDTO> include = matches;
+        store.forEach(record -> {
+            WidgetDTO widget = toDTO(record);
+            if (include.test(widget)) {
+                selected.add(widget);
+            }
+        });
+        if (selected.size() > MAX_BULK_ITEMS) {
+            throw new InvalidRequestException("Bulk changes are limited to " + MAX_BULK_ITEMS + " widgets; narrow the selection");
+        }
+        selected.sort(Comparator.comparing(WidgetDTO::getId));
+        return selected;
+    }
+
+    private void publish(WidgetChangedEvent.Type type, String name, WidgetDTO widget) {
+        eventPublisher.publishEvent(new WidgetChangedEvent(type, name, widget));
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    static long toCents(BigDecimal price) {
+        try {
+            return price.movePointRight(2).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new InvalidRequestException("Price must have at most 2 decimal places");
+        }
+    }
+
+    static WidgetDTO toDTO(WidgetRecord record) {
+        return WidgetDTO.builder()
+                .id(record.id())
+                .name(record.name())
+                .description(record.description())
+                .price(BigDecimal.valueOf(record.priceCents(), 2))
+                .version(record.version())
+                .build();
+    }
+
+    private static WidgetDTO withoutDescription(WidgetDTO widget) {
+        return WidgetDTO.builder()
+                .id(widget.getId())
+                .name(widget.getName())
+                .price(widget.getPrice())
+                .version(widget.getVersion())
+                .build();
+    }
+
+    /** Same semantics as the JPA specifications: inclusive price range, case-sensitive name prefix. */
+    private static Predicate<WidgetDTO> matching(WidgetFilter filter) {
+        Predicate<WidgetDTO> matches = widget -> true;
+        if (filter.getMinPrice() != null) {
+            matches = matches.and(widget -> widget.getPrice().compareTo(filter.getMinPrice()) >= 0);
+        }
+        if (filter.getMaxPrice() != null) {
+            matches = matches.and(widget -> widget.getPrice().compareTo(filter.getMaxPrice()) <= 0);
+        }
+        if (filter.getNamePrefix() != null && !filter.getNamePrefix().isEmpty()) {
+            matches = matches.and(widget -> widget.getName().startsWith(filter.getNamePrefix()));
+        }
+        return matches;
+    }
+
+    private static Comparator<WidgetDTO> orderOf(WidgetSort sort) {
+        Comparator<WidgetDTO> order = switch (sort.getKey()) {
+            case ID -> Comparator.comparing(WidgetDTO::getId);
+            case NAME -> Comparator.comparing(WidgetDTO::getName);
+            case PRICE -> Comparator.comparing(WidgetDTO::getPrice).thenComparing(WidgetDTO::getId);
+        };
+        return sort.isAscending() ? order : order.reversed();
+    }
+
+    /** A stand-in for the last row of the previous page, carrying just the keys its sort compares. */
+    private static WidgetDTO pivotOf(WidgetCursor.Position position) {
+        WidgetDTO.WidgetDTOBuilder pivot = WidgetDTO.builder().id(position.id());
+        try {
+            switch (position.sort().getKey()) {
+                case NAME -> pivot.name(position.value());
+                case PRICE -> pivot.price(new BigDecimal(position.value()));
+                default -> {
+                }
+            }
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        return pivot.build();
+    }
+
+    private static WidgetBulkItemResult itemResult(int index, String name, WidgetBulkItemResult.Status status,
+                                                   Long id, List<String> errors) {
+        return WidgetBulkItemResult.builder()
+                .index(index)
+                .name(name)
+                .status(status)
+                .id(id)
+                .errors(errors)
+                .build();
+    }
+
+    private static int count(List<WidgetBulkItemResult> items, WidgetBulkItemResult.Status status) {
+        return (int) items.stream().filter(item -> item.getStatus() == status).count();
+    }
+}
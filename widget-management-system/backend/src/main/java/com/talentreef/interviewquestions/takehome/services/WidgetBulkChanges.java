@@ -0,0 +1,106 @@
+package com.talentreef.interviewquestions.takehome.services;
+
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkChangeResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkUpdate;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetFilter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Validation shared by the bulk update and delete implementations. Bulk writes bypass bean
+ * validation on {@code Widget}, so the price and description constraints are restated here and
+ * checked against every selected row before anything is written.
+ */
+final class WidgetBulkChanges {
+
+    static final BigDecimal MIN_PRICE = new BigDecimal("1.00");
+    static final BigDecimal MAX_PRICE = new BigDecimal("20000.00");
+
+    // How many offending names an error message lists before summarizing.
+    private static final int REPORTED_NAMES = 10;
+
+    private WidgetBulkChanges() {
+    }
+
+    /** Refuses a selection with no criteria, which would otherwise match every widget. */
+    static void checkSelection(WidgetFilter filter, List<String> names) {
+        boolean filtered = filter != null && (filter.getMinPrice() != null || filter.getMaxPrice() != null
+                || (filter.getNamePrefix() != null && !filter.getNamePrefix().isEmpty()));
+        if (!filtered && names == null) {
+            throw new InvalidRequestException("A bulk change needs a filter or a list of names");
+        }
+        if (filter != null && filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new InvalidRequestException("minPrice must not exceed maxPrice");
+        }
+        if (names != null && names.size() > WidgetService.MAX_BULK_ITEMS) {
+            throw new InvalidRequestException("Bulk requests are limited to " + WidgetService.MAX_BULK_ITEMS + " widgets");
+        }
+    }
+
+    static void checkChanges(WidgetBulkUpdate update) {
+        if (update.getPrice() != null && update.getPriceFactor() != null) {
+            throw new InvalidRequestException("Set either price or priceFactor, not both");
+        }
+        if (update.getPrice() == null && update.getPriceFactor() == null && update.getDescription() == null) {
+            throw new InvalidRequestException("A bulk update needs a price, priceFactor or description");
+        }
+        if (update.getPrice() != null && !isValidPrice(update.getPrice())) {
+            throw new InvalidRequestException("Price must be between 1.00 and 20000.00 with at most 2 decimal places");
+        }
+        if (update.getPriceFactor() != null && update.getPriceFactor().signum() <= 0) {
+            throw new InvalidRequestException("priceFactor must be positive");
+        }
+        String description = update.getDescription();
+        if (description != null && (description.length() < 5 || description.length() > 1000)) {
+            throw new InvalidRequestException("Description must be between 5 and 1000 characters");
+        }
+        checkSelection(update.getFilter(), update.getNames());
+    }
+
+    /** The price {@code update} gives a widget currently at {@code current}. */
+    static BigDecimal newPrice(BigDecimal current, WidgetBulkUpdate update) {
+        if (update.getPrice() != null) {
+            return update.getPrice();
+        }
+        if (update.getPriceFactor() != null) {
+            return current.multiply(update.getPriceFactor()).setScale(2, RoundingMode.HALF_UP);
+        }
+        return current;
+    }
+
+    /** Rejects the whole update if it would take any selected widget outside the price constraints. */
+    static void checkPrices(List<WidgetDTO> selected, WidgetBulkUpdate update) {
+        if (update.getPriceFactor() == null) {
+            return;
+        }
+        List<String> offending = selected.stream()
+                .filter(widget -> !isValidPrice(newPrice(widget.getPrice(), update)))
+                .map(WidgetDTO::getName)
+                .toList();
+        if (!offending.isEmpty()) {
+            String listed = String.join(", ", offending.subList(0, Math.min(REPORTED_NAMES, offending.size())));
+            String more = offending.size() > REPORTED_NAMES ? " and " + (offending.size() - REPORTED_NAMES) + " more" : "";
+            throw new InvalidRequestException("priceFactor would take " + offending.size()
+                    + " widgets outside 1.00-20000.00: " + listed + more);
+        }
+    }
+
+    static WidgetBulkChangeResult result(boolean dryRun, int matched, int affected, List<String> names) {
+        return WidgetBulkChangeResult.builder()
+                .dryRun(dryRun)
+                .matched(matched)
+                .affected(affected)
+                .names(names)
+                .build();
+    }
+
+    private static boolean isValidPrice(BigDecimal price) {
+        return price.compareTo(MIN_PRICE) >= 0 && price.compareTo(MAX_PRICE) <= 0
+                && price.stripTrailingZeros().scale() <= 2;
+    }
+}
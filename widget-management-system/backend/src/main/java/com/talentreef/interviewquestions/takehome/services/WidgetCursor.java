@@ -0,0 +1,120 @@
+package com.talentreef.interviewquestions.takehome.services;
+
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetSort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the position of a widget page as an opaque, URL-safe cursor: the last id for keyset
+ * pages, the last row's sort key and id for sorted pages, an offset into the ranked results
+ * for search pages, or a modification sequence number for delta sync tokens.
+ * Clients must treat the value as a black box; only its round trip is supported.
+ */
+final class WidgetCursor {
+
+    private static final String PREFIX = "id:";
+    private static final String OFFSET_PREFIX = "off:";
+    private static final String POSITION_PREFIX = "key:";
+    private static final String SINCE_PREFIX = "since:";
+
+    /** The last row of a sorted page: its sort, id and sort-key value (empty for id order). */
+    record Position(WidgetSort sort, long id, String value) {
+    }
+
+    private WidgetCursor() {
+    }
+
+    static String encode(long lastId) {
+        return encodeRaw(PREFIX + lastId);
+    }
+
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        return parse(decodeRaw(cursor, PREFIX));
+    }
+
+    static String encodeOffset(int offset) {
+        return encodeRaw(OFFSET_PREFIX + offset);
+    }
+
+    static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        long offset = parse(decodeRaw(cursor, OFFSET_PREFIX));
+        if (offset < 0 || offset > Integer.MAX_VALUE) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        return (int) offset;
+    }
+
+    static String encodeSince(long modSeq) {
+        return encodeRaw(SINCE_PREFIX + modSeq);
+    }
+
+    /** A blank token starts from the beginning, so a first sync returns the whole catalog. */
+    static long decodeSince(String token) {
+        if (token == null || token.isBlank()) {
+            return 0L;
+        }
+        long modSeq = parse(decodeRaw(token, SINCE_PREFIX));
+        if (modSeq < 0) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        return modSeq;
+    }
+
+    static Position positionOf(WidgetSort sort, WidgetDTO last) {
+        String value = switch (sort.getKey()) {
+            case ID -> "";
+            case NAME -> last.getName();
+            case PRICE -> last.getPrice().toPlainString();
+        };
+        return new Position(sort, last.getId(), value);
+    }
+
+    static String encode(Position position) {
+        return encodeRaw(POSITION_PREFIX + position.sort().name() + ':' + position.id() + ':' + position.value());
+    }
+
+    /**
+     * Decodes a sorted-page cursor, which must have been issued for {@code sort}; the value is
+     * last so that names containing ':' survive the round trip.
+     */
+    static Position decode(String cursor, WidgetSort sort) {
+        String[] parts = decodeRaw(cursor, POSITION_PREFIX).split(":", 3);
+        if (parts.length != 3 || !sort.name().equals(parts[0])) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        return new Position(sort, parse(parts[1]), parts[2]);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeRaw(String cursor, String prefix) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(prefix)) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            return raw.substring(prefix.length());
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    private static long parse(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+}
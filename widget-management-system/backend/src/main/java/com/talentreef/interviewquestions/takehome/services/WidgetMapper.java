@@ -0,0 +1,44 @@
+package com.talentreef.interviewquestions.takehome.services;
+
+import com.talentreef.interviewquestions.takehome.models.Widget;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maps between the {@link Widget} entity and {@link WidgetDTO}. Stateless, so it can be used (and
+ * benchmarked) without a service instance.
+ */
+public final class WidgetMapper {
+
+    private static final Logger logger = LoggerFactory.getLogger(WidgetMapper.class);
+
+    private WidgetMapper() {
+    }
+
+    public static WidgetDTO toDTO(Widget widget) {
+        // Runs once per row on list and export paths; keep it free of logging work unless tracing.
+        if (logger.isTraceEnabled()) {
+            logger.trace("Converting widget entity to DTO: {}", widget.getName());
+        }
+        return WidgetDTO.builder()
+                .id(widget.getId())
+                .name(widget.getName())
+                .description(widget.getDescription())
+                .price(widget.getPrice())
+                .version(widget.getVersion())
+                .build();
+    }
+
+    /** A new, unsaved entity; id, version and modification sequence are left for the caller. */
+    public static Widget toEntity(WidgetDTO dto) {
+        if (logger.isTraceEnabled()) {
+            logger.trace("Converting widget DTO to entity: {}", dto.getName());
+        }
+        return Widget.builder()
+                .name(dto.getName())
+                .description(dto.getDescription())
+                .price(dto.getPrice())
+                .build();
+    }
+}
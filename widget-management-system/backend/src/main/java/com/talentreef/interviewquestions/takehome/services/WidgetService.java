@@ -1,18 +1,90 @@
 package com.talentreef.interviewquestions.takehome.services;
 
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkChangeResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkDelete;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkUpdate;
 import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetDelta;
+import com.talentreef.interviewquestions.takehome.models.WidgetFilter;
+import com.talentreef.interviewquestions.takehome.models.WidgetPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface WidgetService {
 
+  int DEFAULT_PAGE_SIZE = 50;
+
+  int MAX_PAGE_SIZE = 500;
+
+  int MAX_BULK_ITEMS = 10_000;
+
   List<WidgetDTO> getAllWidgets();
 
+  /**
+   * Returns the page of widgets following {@code cursor} (or the first page when it is null).
+   * {@code limit} is clamped to {@code [1, MAX_PAGE_SIZE]}.
+   */
+  WidgetPage getWidgetPage(String cursor, Integer limit);
+
+  /**
+   * Returns a page of widgets matching {@code filter}, in its sort order, as a single database
+   * query. Cursors are tied to the sort they were issued for; the filter must be resent unchanged.
+   */
+  WidgetPage getWidgetPage(WidgetFilter filter, String cursor, Integer limit);
+
+  /**
+   * Searches names by word prefix and descriptions by token, best match first. Pages are
+   * addressed by an opaque {@code cursor}; {@code limit} is clamped like {@link #getWidgetPage}.
+   */
+  WidgetPage searchWidgets(String query, String cursor, Integer limit);
+
   WidgetDTO getWidgetByName(String name);
 
+  /**
+   * Like {@link #getWidgetByName}, but read from the store past any cache, so preconditions are
+   * evaluated against the version actually stored.
+   */
+  WidgetDTO getCurrentWidget(String name);
+
+  /**
+   * Returns what changed after the sync token {@code since} (from the beginning when blank): up to
+   * {@code limit} widgets and deleted names, in change order, and the token to continue from.
+   */
+  WidgetDelta getChanges(String since, Integer limit);
+
+  /**
+   * Pushes every widget, in id order, to {@code sink} without materializing the table.
+   * Returns the number of widgets exported.
+   */
+  long exportWidgets(Consumer<WidgetDTO> sink);
+
   WidgetDTO createWidget(WidgetDTO dto);
 
+  /**
+   * Validates and inserts many widgets in batched statements, reporting an outcome per item.
+   * Items that fail validation or clash with an existing name are skipped, not fatal.
+   */
+  WidgetBulkResult bulkCreateWidgets(List<WidgetDTO> dtos);
+
+  /**
+   * Like {@link #bulkCreateWidgets}, except that an item naming an existing widget overwrites its
+   * description and price (as {@link #updateWidget} would) and is reported {@code UPDATED}.
+   */
+  WidgetBulkResult bulkUpsertWidgets(List<WidgetDTO> dtos);
+
   WidgetDTO updateWidget(String name, WidgetDTO dto);
 
   void deleteWidget(String name);
+
+  /**
+   * Applies one change to every widget the request selects, as a set-based write rather than one
+   * update per widget. The whole request is refused if it would break a price constraint for any
+   * selected widget. At most {@code MAX_BULK_ITEMS} widgets may be selected.
+   */
+  WidgetBulkChangeResult bulkUpdateWidgets(WidgetBulkUpdate request);
+
+  /** Deletes every widget the request selects, with the same selection rules as {@link #bulkUpdateWidgets}. */
+  WidgetBulkChangeResult bulkDeleteWidgets(WidgetBulkDelete request);
 }
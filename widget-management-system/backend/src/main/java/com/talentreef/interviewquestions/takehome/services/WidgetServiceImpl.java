@@ -1,112 +1,607 @@
 package com.talentreef.interviewquestions.takehome.services;
 
+import com.talentreef.interviewquestions.takehome.cache.WidgetCache;
+import com.talentreef.interviewquestions.takehome.cache.WidgetReadCoalescer;
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import com.talentreef.interviewquestions.takehome.exceptions.SyncTokenExpiredException;
 import com.talentreef.interviewquestions.takehome.exceptions.WidgetAlreadyExistsException;
 import com.talentreef.interviewquestions.takehome.exceptions.WidgetNotFoundException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetVersionMismatchException;
 import com.talentreef.interviewquestions.takehome.models.Widget;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkChangeResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkDelete;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkItemResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkUpdate;
 import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetDelta;
+import com.talentreef.interviewquestions.takehome.models.WidgetFilter;
+import com.talentreef.interviewquestions.takehome.models.WidgetPage;
+import com.talentreef.interviewquestions.takehome.models.WidgetSort;
+import com.talentreef.interviewquestions.takehome.models.WidgetTombstone;
 import com.talentreef.interviewquestions.takehome.repositories.WidgetRepository;
-import jakarta.transaction.Transactional;
+import com.talentreef.interviewquestions.takehome.repositories.WidgetSpecifications;
+import com.talentreef.interviewquestions.takehome.repositories.WidgetTombstoneRepository;
+import com.talentreef.interviewquestions.takehome.search.WidgetSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!edge")
 public class WidgetServiceImpl implements WidgetService {
 
     private static final Logger logger = LoggerFactory.getLogger(WidgetServiceImpl.class);
+
+    // Rows per uniqueness query and flush in bulk writes; JDBC batching splits each further.
+    static final int BULK_CHUNK_SIZE = 500;
+
     private final WidgetRepository widgetRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final WidgetCache widgetCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WidgetSearchIndex searchIndex;
+    private final WidgetTombstoneRepository tombstoneRepository;
+    private final WidgetSyncSequence syncSequence;
+    private final WidgetReadCoalescer readCoalescer;
 
-    public WidgetServiceImpl(WidgetRepository widgetRepository) {
+    public WidgetServiceImpl(WidgetRepository widgetRepository, EntityManager entityManager, Validator validator,
+                             WidgetCache widgetCache, ApplicationEventPublisher eventPublisher,
+                             WidgetSearchIndex searchIndex, WidgetTombstoneRepository tombstoneRepository,
+                             WidgetSyncSequence syncSequence, WidgetReadCoalescer readCoalescer) {
         this.widgetRepository = widgetRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.widgetCache = widgetCache;
+        this.eventPublisher = eventPublisher;
+        this.searchIndex = searchIndex;
+        this.tombstoneRepository = tombstoneRepository;
+        this.syncSequence = syncSequence;
+        this.readCoalescer = readCoalescer;
+    }
+
+    /** Identifies a listing or search with all of its parameters, for coalescing identical reads. */
+    private record ReadKey(String kind, Object criteria, String cursor, Integer limit) {
     }
 
     @Override
     public List<WidgetDTO> getAllWidgets() {
-        logger.info("Fetching all widgets");
-        List<WidgetDTO> widgets = widgetRepository.findAll()
-                .stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-        logger.info("Retrieved {} widgets", widgets.size());
+        return readCoalescer.query(new ReadKey("all", null, null, null), this::loadAllWidgets);
+    }
+
+    private List<WidgetDTO> loadAllWidgets() {
+        logger.debug("Fetching all widgets");
+        List<WidgetDTO> widgets = widgetRepository.findAllProjected();
+        logger.debug("Retrieved {} widgets", widgets.size());
         return widgets;
     }
 
+    @Override
+    public WidgetPage getWidgetPage(String cursor, Integer limit) {
+        return readCoalescer.query(new ReadKey("page", null, cursor, limit), () -> loadWidgetPage(cursor, limit));
+    }
+
+    private WidgetPage loadWidgetPage(String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long afterId = WidgetCursor.decode(cursor);
+        logger.debug("Fetching widget page after id {} with limit {}", afterId, pageSize);
+
+        // Fetch one extra row so the last page is detected without an empty round trip.
+        List<WidgetDTO> rows = widgetRepository.findPageAfter(afterId, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<WidgetDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String next = hasMore ? WidgetCursor.encode(items.get(items.size() - 1).getId()) : null;
+        return WidgetPage.builder().items(items).next(next).build();
+    }
+
+    @Override
+    public WidgetPage getWidgetPage(WidgetFilter filter, String cursor, Integer limit) {
+        if (filter == null || filter.isDefault()) {
+            return getWidgetPage(cursor, limit);
+        }
+        return readCoalescer.query(new ReadKey("filter", filter, cursor, limit),
+                () -> loadWidgetPage(filter, cursor, limit));
+    }
+
+    private WidgetPage loadWidgetPage(WidgetFilter filter, String cursor, Integer limit) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new InvalidRequestException("minPrice must not exceed maxPrice");
+        }
+        WidgetSort sort = filter.getSort() == null ? WidgetSort.ID_ASC : filter.getSort();
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        logger.debug("Fetching filtered widget page {} with limit {}", filter, pageSize);
+
+        Specification<Widget> spec = WidgetSpecifications.matching(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(after(WidgetCursor.decode(cursor, sort)));
+        }
+        List<WidgetDTO> rows = widgetRepository.findTop(spec, WidgetSpecifications.orderOf(sort), pageSize + 1,
+                filter.includes("description"));
+        boolean hasMore = rows.size() > pageSize;
+        List<WidgetDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String next = hasMore ? WidgetCursor.encode(WidgetCursor.positionOf(sort, items.get(items.size() - 1))) : null;
+        return WidgetPage.builder().items(items).next(next).build();
+    }
+
+    @Override
+    public WidgetPage searchWidgets(String query, String cursor, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be blank");
+        }
+        return readCoalescer.query(new ReadKey("search", query, cursor, limit), () -> loadSearchPage(query, cursor, limit));
+    }
+
+    private WidgetPage loadSearchPage(String query, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int offset = WidgetCursor.decodeOffset(cursor);
+        logger.debug("Searching widgets for '{}' from offset {} with limit {}", query, offset, pageSize);
+
+        List<String> ranked = searchIndex.search(query);
+        if (offset >= ranked.size()) {
+            return WidgetPage.builder().items(List.of()).build();
+        }
+        int end = Math.min(offset + pageSize, ranked.size());
+        List<String> names = ranked.subList(offset, end);
+        // One IN query for the page; rows deleted since the index lookup simply drop out.
+        Map<String, WidgetDTO> byName = widgetRepository.findProjectedByNameIn(names).stream()
+                .collect(Collectors.toMap(WidgetDTO::getName, Function.identity()));
+        List<WidgetDTO> items = names.stream()
+                .map(byName::get)
+                .filter(Objects::nonNull)
+                .toList();
+        String next = end < ranked.size() ? WidgetCursor.encodeOffset(end) : null;
+        return WidgetPage.builder().items(items).next(next).build();
+    }
+
     @Override
     public WidgetDTO getWidgetByName(String name) {
-        logger.info("Fetching widget with name: {}", name);
-        Widget widget = widgetRepository.findByName(name)
-                .orElseThrow(() -> {
-                    logger.error("Widget not found with name: {}", name);
-                    return new IllegalArgumentException("Widget not found");
-                });
-        logger.info("Successfully fetched widget: {}", name);
-        return toDTO(widget);
+        logger.debug("Fetching widget with name: {}", name);
+        WidgetDTO widget = widgetCache.getIfPresent(name);
+        if (widget == null) {
+            // Misses are not cached, so a herd asking for a cold or missing name shares one query.
+            widget = readCoalescer.byName(name, () -> widgetCache.get(name,
+                    key -> widgetRepository.findProjectedByName(key).orElse(null)));
+        }
+        if (widget == null) {
+            logger.debug("Widget not found with name: {}", name);
+            throw new IllegalArgumentException("Widget not found");
+        }
+        logger.debug("Successfully fetched widget: {}", name);
+        return widget;
+    }
+
+    @Override
+    public WidgetDTO getCurrentWidget(String name) {
+        return widgetRepository.findProjectedByName(name)
+                .orElseThrow(() -> new IllegalArgumentException("Widget not found"));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public WidgetDelta getChanges(String since, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long from = WidgetCursor.decodeSince(since);
+        // Read the watermark before querying: every write at or below it has committed (or rolled
+        // back), so the queries below cannot miss one that the returned token would step over.
+        long until = syncSequence.watermark();
+        if (from > until) {
+            throw new SyncTokenExpiredException("Sync token is not from this server's history; resync without since");
+        }
+        logger.debug("Fetching widget changes in ({}, {}] with limit {}", from, until, pageSize);
+
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<Widget> modified = widgetRepository.findModifiedBetween(from, until, page);
+        List<WidgetTombstone> removed = tombstoneRepository.findWrittenBetween(from, until, page);
+        List<WidgetDTO> items = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        int m = 0;
+        int r = 0;
+        long position = from;
+        // Merge both lists in change order up to the page size; each write has its own number.
+        while (items.size() + deleted.size() < pageSize && (m < modified.size() || r < removed.size())) {
+            if (r == removed.size() || (m < modified.size() && modified.get(m).getModSeq() < removed.get(r).getModSeq())) {
+                Widget widget = modified.get(m++);
+                items.add(toDTO(widget));
+                position = widget.getModSeq();
+            } else {
+                WidgetTombstone tombstone = removed.get(r++);
+                deleted.add(tombstone.getName());
+                position = tombstone.getModSeq();
+            }
+        }
+        boolean more = m < modified.size() || r < removed.size();
+        return WidgetDelta.builder()
+                .items(items)
+                .deleted(deleted)
+                .token(WidgetCursor.encodeSince(more ? position : until))
+                .more(more)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long exportWidgets(Consumer<WidgetDTO> sink) {
+        logger.info("Exporting all widgets");
+        long exported = 0;
+        try (Stream<Widget> widgets = widgetRepository.streamAll()) {
+            Iterator<Widget> iterator = widgets.iterator();
+            while (iterator.hasNext()) {
+                Widget widget = iterator.next();
+                sink.accept(toDTO(widget));
+                // Detach as we go so the persistence context stays constant-size.
+                entityManager.detach(widget);
+                exported++;
+            }
+        }
+        logger.info("Exported {} widgets", exported);
+        return exported;
     }
 
     @Transactional
     @Override
     public WidgetDTO createWidget(WidgetDTO dto) {
-        logger.info("Creating widget with name: {}", dto.getName());
-        if (widgetRepository.existsByName(dto.getName())) {
+        logger.debug("Creating widget with name: {}", dto.getName());
+        // Insert directly and let the unique constraint arbitrate: no pre-check query, and no window
+        // in which two concurrent creates can both pass a check.
+        Widget saved;
+        try {
+            Widget widget = toEntity(dto);
+            widget.setModSeq(syncSequence.next(1));
+            saved = widgetRepository.saveAndFlush(widget);
+        } catch (DataIntegrityViolationException ex) {
+            if (!isNameConflict(ex)) {
+                throw ex;
+            }
             logger.warn("Widget already exists with name: {}", dto.getName());
             throw new WidgetAlreadyExistsException("Widget with name '" + dto.getName() + "' already exists.");
         }
+        logger.debug("Successfully created widget: {}", saved.getName());
+        WidgetDTO created = toDTO(saved);
+        publish(WidgetChangedEvent.Type.CREATED, created.getName(), created);
+        return created;
+    }
 
-        Widget saved = widgetRepository.save(toEntity(dto));
-        logger.info("Successfully created widget: {}", saved.getName());
-        return toDTO(saved);
+    @Transactional
+    @Override
+    public WidgetBulkResult bulkCreateWidgets(List<WidgetDTO> dtos) {
+        return bulkWrite(dtos, false);
     }
 
     @Transactional
     @Override
-    public WidgetDTO updateWidget(String name, WidgetDTO dto) {
-        logger.info("Updating widget with name: {}", name);
-        Widget existing = widgetRepository.findByName(name)
-                .orElseThrow(() -> {
-                    logger.error("Widget not found with name: {}", name);
-                    return new IllegalArgumentException("Widget not found");
-                });
+    public WidgetBulkResult bulkUpsertWidgets(List<WidgetDTO> dtos) {
+        return bulkWrite(dtos, true);
+    }
 
-        if (dto.getDescription() != null) existing.setDescription(dto.getDescription());
-        if (dto.getPrice() != null) existing.setPrice(dto.getPrice());
+    private WidgetBulkResult bulkWrite(List<WidgetDTO> dtos, boolean upsert) {
+        if (dtos.size() > MAX_BULK_ITEMS) {
+            throw new InvalidRequestException("Bulk requests are limited to " + MAX_BULK_ITEMS + " widgets");
+        }
+        logger.info("Bulk {} {} widgets", upsert ? "upserting" : "creating", dtos.size());
+        WidgetBulkItemResult[] results = new WidgetBulkItemResult[dtos.size()];
+        Set<String> seenNames = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>(dtos.size());
+
+        for (int i = 0; i < dtos.size(); i++) {
+            WidgetDTO dto = dtos.get(i);
+            if (dto == null) {
+                results[i] = itemResult(i, null, WidgetBulkItemResult.Status.INVALID, null, List.of("widget: must not be null"));
+                continue;
+            }
+            Set<ConstraintViolation<WidgetDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                List<String> errors = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .toList();
+                results[i] = itemResult(i, dto.getName(), WidgetBulkItemResult.Status.INVALID, null, errors);
+            } else if (!seenNames.add(dto.getName())) {
+                results[i] = itemResult(i, dto.getName(), WidgetBulkItemResult.Status.CONFLICT, null,
+                        List.of("name: duplicated within the request"));
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        for (int from = 0; from < candidates.size(); from += BULK_CHUNK_SIZE) {
+            List<Integer> chunk = candidates.subList(from, Math.min(from + BULK_CHUNK_SIZE, candidates.size()));
+            List<String> chunkNames = chunk.stream().map(i -> dtos.get(i).getName()).toList();
+            // An upsert needs the managed rows to change; a plain create only needs to know they exist.
+            Map<String, Widget> existing = upsert
+                    ? widgetRepository.findByNameIn(chunkNames).stream()
+                            .collect(Collectors.toMap(Widget::getName, Function.identity()))
+                    : Map.of();
+            Set<String> existingNames = upsert ? existing.keySet() : widgetRepository.findExistingNames(chunkNames);
+
+            List<Widget> inserts = new ArrayList<>(chunk.size());
+            List<Integer> insertIndexes = new ArrayList<>(chunk.size());
+            List<Widget> updates = new ArrayList<>();
+            List<Integer> updateIndexes = new ArrayList<>();
+            for (int i : chunk) {
+                WidgetDTO dto = dtos.get(i);
+                if (!existingNames.contains(dto.getName())) {
+                    inserts.add(toEntity(dto));
+                    insertIndexes.add(i);
+                } else if (upsert) {
+                    Widget widget = existing.get(dto.getName());
+                    if (dto.getDescription() != null) widget.setDescription(dto.getDescription());
+                    widget.setPrice(dto.getPrice());
+                    updates.add(widget);
+                    updateIndexes.add(i);
+                } else {
+                    results[i] = itemResult(i, dto.getName(), WidgetBulkItemResult.Status.CONFLICT, null,
+                            List.of("name: widget with name '" + dto.getName() + "' already exists"));
+                }
+            }
+
+            if (!inserts.isEmpty() || !updates.isEmpty()) {
+                long modSeq = syncSequence.next(inserts.size() + updates.size());
+                for (Widget widget : inserts) {
+                    widget.setModSeq(modSeq++);
+                }
+                for (Widget widget : updates) {
+                    widget.setModSeq(modSeq++);
+                }
+            }
+            widgetRepository.saveAll(inserts);
+            // Flush the chunk as batched INSERTs (and UPDATEs for upserts), then drop it from the persistence context.
+            // Flushing through the repository gets Spring's exception translation.
+            try {
+                widgetRepository.flush();
+            } catch (DataIntegrityViolationException ex) {
+                if (!isNameConflict(ex)) {
+                    throw ex;
+                }
+                // A concurrent writer took a name between our check and the flush; the batch is rolled back.
+                throw new WidgetAlreadyExistsException("A concurrent request created one of the widgets; retry the batch.");
+            }
+            entityManager.clear();
+            for (int k = 0; k < inserts.size(); k++) {
+                Widget saved = inserts.get(k);
+                int i = insertIndexes.get(k);
+                results[i] = itemResult(i, saved.getName(), WidgetBulkItemResult.Status.CREATED, saved.getId(), null);
+                publish(WidgetChangedEvent.Type.CREATED, saved.getName(), toDTO(saved));
+            }
+            for (int k = 0; k < updates.size(); k++) {
+                Widget saved = updates.get(k);
+                int i = updateIndexes.get(k);
+                results[i] = itemResult(i, saved.getName(), WidgetBulkItemResult.Status.UPDATED, saved.getId(), null);
+                publish(WidgetChangedEvent.Type.UPDATED, saved.getName(), toDTO(saved));
+            }
+        }
 
-        Widget updated = widgetRepository.save(existing);
-        logger.info("Successfully updated widget: {}", name);
-        return toDTO(updated);
+        List<WidgetBulkItemResult> items = Arrays.asList(results);
+        WidgetBulkResult result = WidgetBulkResult.builder()
+                .created(count(items, WidgetBulkItemResult.Status.CREATED))
+                .updated(count(items, WidgetBulkItemResult.Status.UPDATED))
+                .conflicts(count(items, WidgetBulkItemResult.Status.CONFLICT))
+                .invalid(count(items, WidgetBulkItemResult.Status.INVALID))
+                .results(items)
+                .build();
+        logger.info("Bulk wrote {} new and {} updated widgets", result.getCreated(), result.getUpdated());
+        return result;
+    }
+
+    /**
+     * Updates a widget with a single statement that carries the expected version in its WHERE
+     * clause, when one is given, and returns the written row, so a successful update is one round
+     * trip. Only when no row changed does an existence check tell a missing widget from a stale
+     * version.
+     */
+    @Transactional
+    @Override
+    public WidgetDTO updateWidget(String name, WidgetDTO dto) {
+        logger.debug("Updating widget with name: {}", name);
+        long modSeq = syncSequence.next(1);
+        Optional<WidgetDTO> updated = widgetRepository.updateReturning(name, dto.getVersion(), dto.getDescription(),
+                dto.getPrice(), modSeq);
+        if (updated.isEmpty()) {
+            if (dto.getVersion() != null && widgetRepository.existsByName(name)) {
+                logger.warn("Version mismatch updating widget {}: expected {}", name, dto.getVersion());
+                throw new WidgetVersionMismatchException("Widget '" + name + "' has been modified by another request");
+            }
+            logger.debug("Widget not found with name: {}", name);
+            throw new IllegalArgumentException("Widget not found");
+        }
+        WidgetDTO result = updated.get();
+        logger.debug("Successfully updated widget: {}", name);
+        publish(WidgetChangedEvent.Type.UPDATED, name, result);
+        return result;
     }
 
     @Transactional
     @Override
     public void deleteWidget(String name) {
-        logger.info("Deleting widget with name: {}", name);
-        if (!widgetRepository.existsByName(name)) {
-            logger.error("Widget not found with name: {}", name);
+        logger.debug("Deleting widget with name: {}", name);
+        // One DELETE statement; the affected-row count tells us whether the widget existed.
+        if (name == null || name.isBlank() || widgetRepository.deleteByName(name) == 0) {
+            logger.debug("Widget not found with name: {}", name);
             throw new WidgetNotFoundException("Widget with name '" + name + "' not found");
         }
-        widgetRepository.deleteByName(name);
-        logger.info("Successfully deleted widget: {}", name);
+        tombstoneRepository.save(WidgetTombstone.builder()
+                .name(name)
+                .modSeq(syncSequence.next(1))
+                .deletedAt(Instant.now())
+                .build());
+        logger.debug("Successfully deleted widget: {}", name);
+        publish(WidgetChangedEvent.Type.DELETED, name, null);
+    }
+
+    @Transactional
+    @Override
+    public WidgetBulkChangeResult bulkUpdateWidgets(WidgetBulkUpdate request) {
+        WidgetBulkChanges.checkChanges(request);
+        Specification<Widget> spec = bulkSelection(request.getFilter(), request.getNames());
+        List<WidgetDTO> selected = selectForBulk(spec, request.getNames());
+        WidgetBulkChanges.checkPrices(selected, request);
+        List<String> names = selected.stream().map(WidgetDTO::getName).toList();
+        if (request.isDryRun() || selected.isEmpty()) {
+            return WidgetBulkChanges.result(request.isDryRun(), selected.size(), 0, names);
+        }
+        logger.info("Bulk updating {} widgets", selected.size());
+
+        // Updating by the selected ids, rather than re-running the filter, keeps a row that started
+        // matching after the selection (and so was never price-checked) out of the change. Rows take
+        // consecutive modSeqs in id order, one allocated per selected row.
+        long firstModSeq = syncSequence.next(selected.size());
+        BigDecimal factor = request.getPriceFactor() != null ? request.getPriceFactor() : BigDecimal.ONE;
+        int affected = 0;
+        for (int from = 0; from < selected.size(); from += BULK_CHUNK_SIZE) {
+            List<WidgetDTO> chunk = selected.subList(from, Math.min(from + BULK_CHUNK_SIZE, selected.size()));
+            // The statement re-checks the bounds, which keeps rows repriced concurrently in range too.
+            affected += widgetRepository.updateByIdIn(chunk.stream().map(WidgetDTO::getId).toList(),
+                    request.getDescription(), request.getPrice(), factor,
+                    WidgetBulkChanges.MIN_PRICE, WidgetBulkChanges.MAX_PRICE, firstModSeq + from);
+        }
+
+        // Read back what the statements wrote, by their modSeq range, to notify listeners.
+        List<WidgetDTO> updated = widgetRepository.findProjectedModifiedBetween(firstModSeq - 1,
+                firstModSeq + selected.size() - 1);
+        for (WidgetDTO widget : updated) {
+            publish(WidgetChangedEvent.Type.UPDATED, widget.getName(), widget);
+        }
+        logger.info("Bulk updated {} of {} selected widgets", affected, selected.size());
+        return WidgetBulkChanges.result(false, selected.size(), affected,
+                updated.stream().map(WidgetDTO::getName).toList());
+    }
+
+    @Transactional
+    @Override
+    public WidgetBulkChangeResult bulkDeleteWidgets(WidgetBulkDelete request) {
+        Specification<Widget> spec = bulkSelection(request.getFilter(), request.getNames());
+        List<WidgetDTO> selected = selectForBulk(spec, request.getNames());
+        List<String> names = selected.stream().map(WidgetDTO::getName).toList();
+        if (request.isDryRun() || selected.isEmpty()) {
+            return WidgetBulkChanges.result(request.isDryRun(), selected.size(), 0, names);
+        }
+        logger.info("Bulk deleting {} widgets", selected.size());
+
+        // Deleting by the selected ids, rather than re-running the filter, guarantees every removed
+        // row gets a tombstone: a row that started matching after the selection is left alone.
+        long modSeq = syncSequence.next(selected.size());
+        Instant deletedAt = Instant.now();
+        int affected = 0;
+        for (int from = 0; from < selected.size(); from += BULK_CHUNK_SIZE) {
+            List<WidgetDTO> chunk = selected.subList(from, Math.min(from + BULK_CHUNK_SIZE, selected.size()));
+            List<String> chunkNames = names.subList(from, from + chunk.size());
+            affected += widgetRepository.deleteByIdIn(chunk.stream().map(WidgetDTO::getId).toList());
+            tombstoneRepository.deleteByNameIn(chunkNames);
+            for (String name : chunkNames) {
+                entityManager.persist(WidgetTombstone.builder()
+                        .name(name)
+                        .modSeq(modSeq++)
+                        .deletedAt(deletedAt)
+                        .build());
+            }
+            tombstoneRepository.flush();
+            entityManager.clear();
+        }
+        for (String name : names) {
+            publish(WidgetChangedEvent.Type.DELETED, name, null);
+        }
+        logger.info("Bulk deleted {} widgets", affected);
+        return WidgetBulkChanges.result(false, selected.size(), affected, names);
     }
 
     // --- Helpers ---
+    private static Specification<Widget> bulkSelection(WidgetFilter filter, List<String> names) {
+        WidgetBulkChanges.checkSelection(filter, names);
+        Specification<Widget> spec = filter == null ? Specification.where(null) : WidgetSpecifications.matching(filter);
+        return names == null || names.isEmpty() ? spec : spec.and(WidgetSpecifications.nameIn(names));
+    }
+
+    /** The widgets a bulk change applies to, in id order, without descriptions. */
+    private List<WidgetDTO> selectForBulk(Specification<Widget> spec, List<String> names) {
+        if (names != null && names.isEmpty()) {
+            return List.of();
+        }
+        List<WidgetDTO> selected = widgetRepository.findTop(spec, Sort.by(Sort.Direction.ASC, "id"), MAX_BULK_ITEMS + 1, false);
+        if (selected.size() > MAX_BULK_ITEMS) {
+            throw new InvalidRequestException("Bulk changes are limited to " + MAX_BULK_ITEMS + " widgets; narrow the selection");
+        }
+        return selected;
+    }
+
+    private static Specification<Widget> after(WidgetCursor.Position position) {
+        WidgetSort sort = position.sort();
+        try {
+            return switch (sort.getKey()) {
+                case ID -> WidgetSpecifications.afterId(position.id());
+                case NAME -> WidgetSpecifications.afterName(position.value(), sort.isAscending());
+                case PRICE -> WidgetSpecifications.afterPrice(
+                        new BigDecimal(position.value()), position.id(), sort.isAscending());
+            };
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    private void publish(WidgetChangedEvent.Type type, String name, WidgetDTO widget) {
+        eventPublisher.publishEvent(new WidgetChangedEvent(type, name, widget));
+    }
+
     WidgetDTO toDTO(Widget widget) {
-        logger.debug("Converting widget entity to DTO: {}", widget.getName());
-        return WidgetDTO.builder()
-                .id(widget.getId())
-                .name(widget.getName())
-                .description(widget.getDescription())
-                .price(widget.getPrice())
+        return WidgetMapper.toDTO(widget);
+    }
+
+    private static WidgetBulkItemResult itemResult(int index, String name, WidgetBulkItemResult.Status status,
+                                                   Long id, List<String> errors) {
+        return WidgetBulkItemResult.builder()
+                .index(index)
+                .name(name)
+                .status(status)
+                .id(id)
+                .errors(errors)
                 .build();
     }
 
+    private static boolean isNameConflict(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                // Only the name constraint means "already exists"; a primary-key or any other unique
+                // violation shares SQLSTATE 23505 but is a server fault, so it must propagate.
+                String constraint = violation.getConstraintName();
+                return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(Widget.NAME_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    private static int count(List<WidgetBulkItemResult> items, WidgetBulkItemResult.Status status) {
+        return (int) items.stream().filter(item -> item.getStatus() == status).count();
+    }
+
     private Widget toEntity(WidgetDTO dto) {
-        logger.debug("Converting widget DTO to entity: {}", dto.getName());
-        return Widget.builder()
-                .name(dto.getName())
-                .description(dto.getDescription())
-                .price(dto.getPrice())
-                .build();
+        return WidgetMapper.toEntity(dto);
     }
-}
\ No newline at end of file
+}
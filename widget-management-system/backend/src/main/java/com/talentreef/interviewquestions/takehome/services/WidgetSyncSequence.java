@@ -0,0 +1,69 @@
+package com.talentreef.interviewquestions.takehome.services;
+
+import com.talentreef.interviewquestions.takehome.repositories.WidgetRepository;
+import com.talentreef.interviewquestions.takehome.repositories.WidgetTombstoneRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+
+/**
+ * Hands out the modification sequence numbers stamped on widget rows and tombstones, and knows
+ * which of them may still be invisible to readers.
+ *
+ * <p>Numbers are allocated when a write happens but become visible when its transaction commits,
+ * and transactions commit out of order. A reader that took the highest number it saw as its
+ * token could therefore skip a lower number committed just after. Every allocation stays "in
+ * flight" until its transaction completes, and {@link #watermark()} is the highest number below
+ * all in-flight ones: everything up to it has committed or rolled back, so a delta read capped at
+ * the watermark never has gaps.
+ *
+ * <p>The counter is in-process and resumes from the table maxima at startup, which assumes a
+ * single writer instance; several instances would need a database sequence and a shared
+ * watermark instead.
+ */
+@Component
+@Profile("!edge")
+public class WidgetSyncSequence {
+
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private long last;
+
+    public WidgetSyncSequence(WidgetRepository widgetRepository, WidgetTombstoneRepository tombstoneRepository) {
+        this.last = Math.max(widgetRepository.maxModSeq(), tombstoneRepository.maxModSeq());
+    }
+
+    /**
+     * Allocates {@code count} consecutive numbers and returns the first. They count as in flight
+     * until the surrounding transaction completes, so this must be called inside one.
+     */
+    public long next(int count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Modification sequence numbers must be allocated in a transaction");
+        }
+        long first;
+        synchronized (this) {
+            first = last + 1;
+            last += count;
+            inFlight.add(first);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(first);
+            }
+        });
+        return first;
+    }
+
+    /** The highest number at or below which every allocation has completed. */
+    public synchronized long watermark() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    private synchronized void complete(long first) {
+        inFlight.remove(first);
+    }
+}
@@ -0,0 +1,129 @@
+package com.talentreef.interviewquestions.takehome.admission;
+
+import com.talentreef.interviewquestions.takehome.config.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControlFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdmissionControlFilter filter(AdmissionProperties properties) {
+        return new AdmissionControlFilter(properties, meterRegistry);
+    }
+
+    private static AdmissionProperties singlePermit() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setRead(new AdmissionProperties.Limit(1, 1, 1));
+        properties.setWrite(new AdmissionProperties.Limit(1, 1, 1));
+        return properties;
+    }
+
+    @Test
+    public void doFilter_shedsReadsOverTheLimitWithRetryAfter() throws Exception {
+        // Arrange
+        AdmissionControlFilter filter = filter(singlePermit());
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/v1/widgets/Gear"), response, new MockFilterChain());
+            nested.set(response);
+        };
+
+        // Act
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/widgets"), outer, chain);
+
+        // Assert
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested.get().getStatus());
+        assertEquals("1", nested.get().getHeader("Retry-After"));
+        assertEquals(0, filter.getReadLimit().getInFlight());
+        assertEquals(1.0, meterRegistry.get("widgets.admission.rejected").tag("kind", "read").counter().count());
+    }
+
+    @Test
+    public void doFilter_keepsReadsAndWritesApart() throws Exception {
+        // Arrange
+        AdmissionControlFilter filter = filter(singlePermit());
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/v1/widgets"), response, new MockFilterChain());
+            nested.set(response);
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("POST", "/v1/widgets"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(200, nested.get().getStatus());
+    }
+
+    @Test
+    public void doFilter_skipsStreamsAndOtherPaths() throws Exception {
+        // Arrange
+        AdmissionControlFilter filter = filter(singlePermit());
+
+        // Act & Assert
+        for (String path : new String[] {"/v1/widgets/export", "/v1/widgets/changes", "/actuator/health"}) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", path), new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest(), path);
+            assertEquals(0, filter.getReadLimit().getInFlight());
+        }
+    }
+
+    @Test
+    public void doFilter_skipsBulkWrites() throws Exception {
+        // Arrange
+        AdmissionControlFilter filter = filter(singlePermit());
+        assertTrue(filter.getWriteLimit().tryAcquire());
+
+        // Act & Assert: the only write permit is taken, yet bulk writes still go through
+        for (String path : new String[] {"/v1/widgets:bulk", "/v1/widgets:bulkUpdate", "/v1/widgets:bulkDelete"}) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("POST", path), new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest(), path);
+            assertEquals(1, filter.getWriteLimit().getInFlight());
+        }
+    }
+
+    @Test
+    public void doFilter_throttlesAClientOverItsRate() throws Exception {
+        // Arrange
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.getClientRate().setEnabled(true);
+        properties.getClientRate().setRequestsPerSecond(1);
+        properties.getClientRate().setBurst(1);
+        AdmissionControlFilter filter = filter(properties);
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/v1/widgets");
+        first.addHeader("X-Client-Id", "reports");
+        MockHttpServletRequest second = new MockHttpServletRequest("GET", "/v1/widgets");
+        second.addHeader("X-Client-Id", "reports");
+        MockHttpServletRequest other = new MockHttpServletRequest("GET", "/v1/widgets");
+        other.addHeader("X-Client-Id", "dashboard");
+
+        // Act
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        filter.doFilter(first, firstResponse, new MockFilterChain());
+        MockHttpServletResponse secondResponse = new MockHttpServletResponse();
+        filter.doFilter(second, secondResponse, new MockFilterChain());
+        MockHttpServletResponse otherResponse = new MockHttpServletResponse();
+        filter.doFilter(other, otherResponse, new MockFilterChain());
+
+        // Assert
+        assertEquals(200, firstResponse.getStatus());
+        assertEquals(429, secondResponse.getStatus());
+        assertEquals("1", secondResponse.getHeader("Retry-After"));
+        assertEquals(200, otherResponse.getStatus());
+    }
+}
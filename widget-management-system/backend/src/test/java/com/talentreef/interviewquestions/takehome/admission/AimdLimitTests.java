@@ -0,0 +1,126 @@
+package com.talentreef.interviewquestions.takehome.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AimdLimitTests {
+
+    private static final long FLOOR = Duration.ofMillis(10).toNanos();
+    private static final long FAST = Duration.ofMillis(2).toNanos();
+    private static final long SLOW = Duration.ofMillis(50).toNanos();
+
+    private AimdLimit limit(int initial) {
+        return new AimdLimit(initial, 2, 100, 2.0, FLOOR, 0.5);
+    }
+
+    @Test
+    public void tryAcquire_rejectsOnceTheLimitIsInUse() {
+        // Arrange
+        AimdLimit limit = limit(2);
+
+        // Act & Assert
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    public void release_growsTheLimitWhileFastAndBusy() {
+        // Arrange
+        AimdLimit limit = limit(4);
+        long time = 0;
+
+        // Act
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < limit.getLimit(); j++) {
+                assertTrue(limit.tryAcquire());
+            }
+            for (int j = limit.getInFlight(); j > 0; j--) {
+                limit.release(time, time + FAST, false);
+            }
+            time += FAST;
+        }
+
+        // Assert
+        assertTrue(limit.getLimit() > 4);
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    public void release_doesNotGrowAnIdleLimit() {
+        // Arrange
+        AimdLimit limit = limit(10);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(i * FAST, (i + 1) * FAST, false);
+        }
+
+        // Assert
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    public void release_recoversABackedOffLimitWhenIdle() {
+        // Arrange
+        AimdLimit limit = limit(8);
+        long time = 0;
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(time, time + FAST, true);
+            time += 2 * FAST;
+        }
+        assertEquals(2, limit.getLimit());
+
+        // Act: one request at a time, all fast
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(time, time + FAST, false);
+            time += 2 * FAST;
+        }
+
+        // Assert: back to where it started, and no further without load
+        assertEquals(8, limit.getLimit());
+    }
+
+    @Test
+    public void release_backsOffOncePerBurstOfSlowRequests() {
+        // Arrange
+        AimdLimit limit = limit(40);
+        limit.tryAcquire();
+        limit.release(0, FAST, false);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+
+        // Act: ten requests started together and all came back slow
+        for (int i = 0; i < 10; i++) {
+            limit.release(FAST, FAST + SLOW, false);
+        }
+
+        // Assert
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    public void release_backsOffOnFailureButNeverBelowTheMinimum() {
+        // Arrange
+        AimdLimit limit = limit(8);
+        long time = 0;
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(time, time + FAST, true);
+            time += 2 * FAST;
+        }
+
+        // Assert
+        assertEquals(2, limit.getLimit());
+    }
+}
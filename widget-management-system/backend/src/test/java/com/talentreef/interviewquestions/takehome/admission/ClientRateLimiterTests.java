@@ -0,0 +1,41 @@
+package com.talentreef.interviewquestions.takehome.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClientRateLimiterTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void tryAcquire_allowsABurstThenThrottlesToTheRate() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(SECOND);
+        ClientRateLimiter limiter = new ClientRateLimiter(10, 3, 100, clock::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(SECOND / 10, limiter.tryAcquire("a"));
+
+        clock.addAndGet(SECOND / 10);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    public void tryAcquire_keepsASeparateBucketPerClient() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(SECOND);
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 100, clock::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+}
@@ -0,0 +1,147 @@
+package com.talentreef.interviewquestions.takehome.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTests {
+
+  @Test
+  public void load_sharesOneLoadBetweenConcurrentCallers() throws Exception {
+    // Arrange
+    SingleFlight<String, String> flights = new SingleFlight<>();
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    try {
+      // Act
+      Future<String> leader = executor.submit(() -> flights.load("Gear", () -> {
+        loads.incrementAndGet();
+        started.countDown();
+        await(release);
+        return "loaded";
+      }));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      List<Future<String>> followers = new ArrayList<>();
+      for (int i = 0; i < 7; i++) {
+        followers.add(executor.submit(() -> flights.load("Gear", () -> {
+          loads.incrementAndGet();
+          return "again";
+        })));
+      }
+      while (flights.joinedCount() < 7) {
+        Thread.onSpinWait();
+      }
+      release.countDown();
+
+      // Assert
+      assertEquals("loaded", leader.get(5, TimeUnit.SECONDS));
+      for (Future<String> follower : followers) {
+        assertEquals("loaded", follower.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(1, loads.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void load_runsAgainOnceTheFlightHasLanded() {
+    // Arrange
+    SingleFlight<String, Integer> flights = new SingleFlight<>();
+    AtomicInteger loads = new AtomicInteger();
+
+    // Act
+    flights.load("Gear", loads::incrementAndGet);
+    int second = flights.load("Gear", loads::incrementAndGet);
+
+    // Assert
+    assertEquals(2, second);
+    assertEquals(0, flights.joinedCount());
+  }
+
+  @Test
+  public void load_sharesTheLeadersException() throws Exception {
+    // Arrange
+    SingleFlight<String, String> flights = new SingleFlight<>();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      // Act
+      Future<String> leader = executor.submit(() -> flights.load("Gear", () -> {
+        started.countDown();
+        await(release);
+        throw new IllegalArgumentException("Widget not found");
+      }));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      Future<String> follower = executor.submit(() -> {
+        try {
+          return flights.load("Gear", () -> "unexpected");
+        } catch (IllegalArgumentException ex) {
+          return ex.getMessage();
+        }
+      });
+      while (flights.joinedCount() < 1) {
+        Thread.onSpinWait();
+      }
+      release.countDown();
+
+      // Assert
+      assertEquals("Widget not found", follower.get(5, TimeUnit.SECONDS));
+      assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void forget_detachesTheLoadInFlight() throws Exception {
+    // Arrange
+    SingleFlight<String, String> flights = new SingleFlight<>();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      Future<String> stale = executor.submit(() -> flights.load("Gear", () -> {
+        started.countDown();
+        await(release);
+        return "before";
+      }));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+
+      // Act
+      flights.forget("Gear");
+      String fresh = flights.load("Gear", () -> "after");
+      release.countDown();
+
+      // Assert
+      assertEquals("after", fresh);
+      assertEquals("before", stale.get(5, TimeUnit.SECONDS));
+      assertEquals(0, flights.joinedCount());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.talentreef.interviewquestions.takehome.cache;
+
+import com.talentreef.interviewquestions.takehome.config.WidgetCacheProperties;
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WidgetCacheTests {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private WidgetCache widgetCache;
+
+  private WidgetDTO sampleWidgetDTO;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    widgetCache = new WidgetCache(new WidgetCacheProperties(), meterRegistry);
+    sampleWidgetDTO = WidgetDTO.builder()
+            .id(1L)
+            .name("Sample Widget")
+            .description("A sample widget for testing.")
+            .price(new BigDecimal("99.99"))
+            .build();
+  }
+
+  @Test
+  public void get_loadsOnceThenHits() {
+    // Arrange
+    AtomicInteger loads = new AtomicInteger();
+
+    // Act
+    widgetCache.get("Sample Widget", name -> { loads.incrementAndGet(); return sampleWidgetDTO; });
+    WidgetDTO cached = widgetCache.get("Sample Widget", name -> { loads.incrementAndGet(); return null; });
+
+    // Assert
+    assertSame(sampleWidgetDTO, cached);
+    assertEquals(1, loads.get());
+    assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "widgets.byName").tag("result", "hit")
+            .functionCounter().count());
+  }
+
+  @Test
+  public void onWidgetChanged_invalidatesEntry() {
+    // Arrange
+    widgetCache.get("Sample Widget", name -> sampleWidgetDTO);
+
+    // Act
+    widgetCache.onWidgetChanged(new WidgetChangedEvent(WidgetChangedEvent.Type.DELETED, "Sample Widget", null));
+
+    // Assert
+    assertNull(widgetCache.get("Sample Widget", name -> null));
+  }
+
+  @Test
+  public void get_disabledAlwaysLoads() {
+    // Arrange
+    WidgetCacheProperties properties = new WidgetCacheProperties();
+    properties.setEnabled(false);
+    WidgetCache disabled = new WidgetCache(properties, meterRegistry);
+    AtomicInteger loads = new AtomicInteger();
+
+    // Act
+    disabled.get("Sample Widget", name -> { loads.incrementAndGet(); return sampleWidgetDTO; });
+    disabled.get("Sample Widget", name -> { loads.incrementAndGet(); return sampleWidgetDTO; });
+
+    // Assert
+    assertEquals(2, loads.get());
+  }
+}
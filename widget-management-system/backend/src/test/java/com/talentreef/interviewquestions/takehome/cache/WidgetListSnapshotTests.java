@@ -0,0 +1,136 @@
+package com.talentreef.interviewquestions.takehome.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.talentreef.interviewquestions.takehome.config.WidgetSnapshotProperties;
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.services.WidgetService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class WidgetListSnapshotTests {
+
+  private WidgetService widgetService;
+
+  private WidgetListSnapshot listSnapshot;
+
+  private WidgetSnapshotProperties properties;
+
+  private WidgetDTO sampleWidgetDTO;
+
+  @BeforeEach
+  void setUp() {
+    widgetService = mock(WidgetService.class);
+    properties = new WidgetSnapshotProperties();
+    properties.setEnabled(true);
+    // Rebuilds run inline on the notifying thread, so each test sees them complete.
+    listSnapshot = new WidgetListSnapshot(properties, widgetService, new ObjectMapper(), new SimpleMeterRegistry(),
+            Runnable::run);
+    sampleWidgetDTO = WidgetDTO.builder()
+            .id(1L)
+            .name("Sample Widget")
+            .description("A sample widget for testing.")
+            .price(new BigDecimal("99.99"))
+            .build();
+  }
+
+  @Test
+  public void current_buildsOnceUntilTheNextChange() {
+    // Arrange
+    when(widgetService.getAllWidgets()).thenReturn(List.of(sampleWidgetDTO));
+
+    // Act
+    WidgetListSnapshot.Snapshot first = listSnapshot.current();
+    WidgetListSnapshot.Snapshot second = listSnapshot.current();
+    when(widgetService.getAllWidgets()).thenReturn(List.of());
+    listSnapshot.onWidgetChanged(new WidgetChangedEvent(WidgetChangedEvent.Type.DELETED, "Sample Widget", null));
+    WidgetListSnapshot.Snapshot third = listSnapshot.current();
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(1, first.count());
+    assertEquals(0, third.count());
+    assertNotEquals(first.etag(), third.etag());
+    verify(widgetService, times(2)).getAllWidgets();
+  }
+
+  @Test
+  public void current_gzipVariantHoldsTheSameJson() throws IOException {
+    // Arrange
+    when(widgetService.getAllWidgets()).thenReturn(List.of(sampleWidgetDTO));
+
+    // Act
+    WidgetListSnapshot.Snapshot snapshot = listSnapshot.current();
+
+    // Assert
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+      assertArrayEquals(snapshot.json(), gzip.readAllBytes());
+    }
+    List<?> decoded = new ObjectMapper().readValue(snapshot.json(), List.class);
+    assertEquals(1, decoded.size());
+  }
+
+  @Test
+  public void current_servesThePreviousSnapshotWhileRebuilding() throws Exception {
+    // Arrange
+    ExecutorService rebuilder = Executors.newSingleThreadExecutor();
+    listSnapshot = new WidgetListSnapshot(properties, widgetService, new ObjectMapper(), new SimpleMeterRegistry(),
+            rebuilder);
+    when(widgetService.getAllWidgets()).thenReturn(List.of(sampleWidgetDTO));
+    WidgetListSnapshot.Snapshot first = listSnapshot.current();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(widgetService.getAllWidgets()).thenAnswer(invocation -> {
+      loading.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return List.of();
+    });
+
+    try {
+      // Act
+      listSnapshot.onWidgetChanged(new WidgetChangedEvent(WidgetChangedEvent.Type.DELETED, "Sample Widget", null));
+      assertTrue(loading.await(5, TimeUnit.SECONDS));
+      WidgetListSnapshot.Snapshot duringRebuild = listSnapshot.current();
+      release.countDown();
+      rebuilder.submit(() -> { }).get(5, TimeUnit.SECONDS);
+      WidgetListSnapshot.Snapshot afterRebuild = listSnapshot.current();
+
+      // Assert
+      assertSame(first, duringRebuild);
+      assertEquals(0, afterRebuild.count());
+      verify(widgetService, times(2)).getAllWidgets();
+    } finally {
+      release.countDown();
+      rebuilder.shutdownNow();
+    }
+  }
+
+  @Test
+  public void current_keepsTheSnapshotWhenARebuildFails() {
+    // Arrange
+    when(widgetService.getAllWidgets()).thenReturn(List.of(sampleWidgetDTO));
+    WidgetListSnapshot.Snapshot first = listSnapshot.current();
+    when(widgetService.getAllWidgets()).thenThrow(new IllegalStateException("database down"));
+
+    // Act
+    listSnapshot.onWidgetChanged(new WidgetChangedEvent(WidgetChangedEvent.Type.DELETED, "Sample Widget", null));
+    WidgetListSnapshot.Snapshot current = listSnapshot.current();
+
+    // Assert
+    assertSame(first, current);
+  }
+}
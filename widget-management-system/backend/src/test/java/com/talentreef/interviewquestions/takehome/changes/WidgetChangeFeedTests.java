@@ -0,0 +1,95 @@
+package com.talentreef.interviewquestions.takehome.changes;
+
+import com.talentreef.interviewquestions.takehome.config.WidgetChangeFeedProperties;
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WidgetChangeFeedTests {
+
+  private WidgetChangeFeed feed;
+
+  @BeforeEach
+  void setUp() {
+    WidgetChangeFeedProperties properties = new WidgetChangeFeedProperties();
+    properties.setBufferSize(4);
+    feed = new WidgetChangeFeed(properties, new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() {
+    feed.close();
+  }
+
+  @Test
+  public void onWidgetChanged_assignsIncreasingSequenceNumbers() {
+    // Act
+    feed.onWidgetChanged(created("Blue Gear"));
+    feed.onWidgetChanged(new WidgetChangedEvent(WidgetChangedEvent.Type.DELETED, "Blue Gear", null));
+
+    // Assert
+    List<WidgetChange> changes = feed.changesAfter(0).orElseThrow();
+    assertEquals(List.of(1L, 2L), changes.stream().map(WidgetChange::getSeq).toList());
+    assertEquals(WidgetChangedEvent.Type.CREATED, changes.get(0).getType());
+    assertEquals("Blue Gear", changes.get(0).getWidget().getName());
+    assertNull(changes.get(1).getWidget());
+    assertEquals(2, feed.lastSequence());
+  }
+
+  @Test
+  public void changesAfter_replaysOnlyWhatWasMissed() {
+    // Arrange
+    for (int i = 0; i < 3; i++) {
+      feed.onWidgetChanged(created("Widget " + i));
+    }
+
+    // Act
+    List<WidgetChange> missed = feed.changesAfter(1).orElseThrow();
+    List<WidgetChange> upToDate = feed.changesAfter(3).orElseThrow();
+
+    // Assert
+    assertEquals(List.of("Widget 1", "Widget 2"), missed.stream().map(WidgetChange::getName).toList());
+    assertTrue(upToDate.isEmpty());
+  }
+
+  @Test
+  public void changesAfter_positionsOutsideTheBufferNeedAReset() {
+    // Arrange
+    for (int i = 0; i < 6; i++) {
+      feed.onWidgetChanged(created("Widget " + i));
+    }
+
+    // Act
+    Optional<List<WidgetChange>> evicted = feed.changesAfter(1);
+    Optional<List<WidgetChange>> oldestKept = feed.changesAfter(2);
+    Optional<List<WidgetChange>> fromTheFuture = feed.changesAfter(42);
+
+    // Assert
+    assertTrue(evicted.isEmpty());
+    assertEquals(List.of(3L, 4L, 5L, 6L), oldestKept.orElseThrow().stream().map(WidgetChange::getSeq).toList());
+    assertTrue(fromTheFuture.isEmpty());
+  }
+
+  @Test
+  public void subscribe_tracksOpenStreams() {
+    // Act
+    feed.subscribe(null);
+    feed.subscribe(0L);
+
+    // Assert
+    assertEquals(2, feed.subscriberCount());
+  }
+
+  private static WidgetChangedEvent created(String name) {
+    WidgetDTO widget = WidgetDTO.builder().id(1L).name(name).build();
+    return new WidgetChangedEvent(WidgetChangedEvent.Type.CREATED, name, widget);
+  }
+}
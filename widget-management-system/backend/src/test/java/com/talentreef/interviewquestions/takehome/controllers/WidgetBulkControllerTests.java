@@ -0,0 +1,171 @@
+package com.talentreef.interviewquestions.takehome.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkChangeResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkDelete;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkItemResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkUpdate;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetFilter;
+import com.talentreef.interviewquestions.takehome.services.WidgetService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class WidgetBulkControllerTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private WidgetService widgetService;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Test
+  public void bulkCreateWidgets_success() throws Exception {
+    // Arrange
+    WidgetDTO inputDTO = WidgetDTO.builder()
+            .name("Sample Widget")
+            .description("A sample widget for testing.")
+            .price(new BigDecimal("99.99"))
+            .build();
+    WidgetBulkResult result = WidgetBulkResult.builder()
+            .created(1)
+            .results(List.of(WidgetBulkItemResult.builder()
+                    .index(0)
+                    .name("Sample Widget")
+                    .status(WidgetBulkItemResult.Status.CREATED)
+                    .id(1L)
+                    .build()))
+            .build();
+    when(widgetService.bulkCreateWidgets(anyList())).thenReturn(result);
+
+    // Act & Assert
+    mockMvc.perform(post("/v1/widgets:bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(List.of(inputDTO))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created", is(1)))
+            .andExpect(jsonPath("$.results", hasSize(1)))
+            .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+            .andExpect(jsonPath("$.results[0].id", is(1)));
+
+    verify(widgetService, times(1)).bulkCreateWidgets(anyList());
+  }
+
+  @Test
+  public void bulkUpdateWidgets_dryRunReportsMatches() throws Exception {
+    // Arrange
+    WidgetBulkUpdate request = WidgetBulkUpdate.builder()
+            .filter(WidgetFilter.builder().namePrefix("Gear").build())
+            .priceFactor(new BigDecimal("1.05"))
+            .dryRun(true)
+            .build();
+    when(widgetService.bulkUpdateWidgets(any(WidgetBulkUpdate.class))).thenReturn(WidgetBulkChangeResult.builder()
+            .dryRun(true)
+            .matched(2)
+            .names(List.of("Gear A", "Gear B"))
+            .build());
+
+    // Act & Assert
+    mockMvc.perform(post("/v1/widgets:bulkUpdate")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.dryRun", is(true)))
+            .andExpect(jsonPath("$.matched", is(2)))
+            .andExpect(jsonPath("$.affected", is(0)))
+            .andExpect(jsonPath("$.names", contains("Gear A", "Gear B")));
+
+    verify(widgetService).bulkUpdateWidgets(argThat(r -> r.isDryRun() && "Gear".equals(r.getFilter().getNamePrefix())));
+  }
+
+  @Test
+  public void bulkDeleteWidgets_success() throws Exception {
+    // Arrange
+    WidgetBulkDelete request = WidgetBulkDelete.builder().names(List.of("Gear A", "Gear B")).build();
+    when(widgetService.bulkDeleteWidgets(any(WidgetBulkDelete.class))).thenReturn(WidgetBulkChangeResult.builder()
+            .matched(2)
+            .affected(2)
+            .names(List.of("Gear A", "Gear B"))
+            .build());
+
+    // Act & Assert
+    mockMvc.perform(post("/v1/widgets:bulkDelete")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.affected", is(2)));
+  }
+
+  @Test
+  public void bulkDeleteWidgets_rejectsAnEmptySelection() throws Exception {
+    // Arrange
+    when(widgetService.bulkDeleteWidgets(any(WidgetBulkDelete.class)))
+            .thenThrow(new InvalidRequestException("A bulk change needs a filter or a list of names"));
+
+    // Act & Assert
+    mockMvc.perform(post("/v1/widgets:bulkDelete")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{}"))
+            .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void importWidgets_streamsCsv() throws Exception {
+    // Arrange
+    when(widgetService.bulkCreateWidgets(anyList())).thenReturn(WidgetBulkResult.builder()
+            .created(1)
+            .results(List.of(WidgetBulkItemResult.builder()
+                    .index(0)
+                    .name("Blue Gear")
+                    .status(WidgetBulkItemResult.Status.CREATED)
+                    .id(1L)
+                    .build()))
+            .build());
+
+    // Act & Assert
+    mockMvc.perform(post("/v1/widgets:import")
+                    .contentType("text/csv")
+                    .content("name,description,price\nBlue Gear,A blue gear.,10.00\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rows", is(1)))
+            .andExpect(jsonPath("$.created", is(1)))
+            .andExpect(jsonPath("$.errors", hasSize(0)));
+
+    verify(widgetService, never()).bulkUpsertWidgets(anyList());
+  }
+
+  @Test
+  public void importWidgets_rejectsUnknownConflictMode() throws Exception {
+    // Act & Assert
+    mockMvc.perform(post("/v1/widgets:import")
+                    .param("onConflict", "replace")
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .content("{\"name\":\"Blue Gear\",\"price\":10.00}\n"))
+            .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(widgetService);
+  }
+}
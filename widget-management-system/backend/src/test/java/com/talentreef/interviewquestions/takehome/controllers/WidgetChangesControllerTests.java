@@ -0,0 +1,59 @@
+package com.talentreef.interviewquestions.takehome.controllers;
+
+import com.talentreef.interviewquestions.takehome.changes.WidgetChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class WidgetChangesControllerTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private WidgetChangeFeed changeFeed;
+
+  @Test
+  public void streamChanges_resumesFromLastEventId() throws Exception {
+    // Arrange
+    when(changeFeed.subscribe(any())).thenReturn(new SseEmitter());
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets/changes").header("Last-Event-ID", "42"))
+            .andExpect(request().asyncStarted());
+
+    verify(changeFeed).subscribe(42L);
+  }
+
+  @Test
+  public void streamChanges_startsAtTheEndWithoutLastEventId() throws Exception {
+    // Arrange
+    when(changeFeed.subscribe(any())).thenReturn(new SseEmitter());
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets/changes"))
+            .andExpect(request().asyncStarted());
+
+    verify(changeFeed).subscribe(isNull());
+  }
+
+  @Test
+  public void streamChanges_invalidLastEventId() throws Exception {
+    mockMvc.perform(get("/v1/widgets/changes").header("Last-Event-ID", "abc"))
+            .andExpect(status().isBadRequest());
+
+    verify(changeFeed, never()).subscribe(any());
+  }
+}
@@ -1,9 +1,20 @@
 package com.talentreef.interviewquestions.takehome.controllers;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.talentreef.interviewquestions.takehome.cache.WidgetListSnapshot;
+import com.talentreef.interviewquestions.takehome.exceptions.DeltaSyncUnavailableException;
 import com.talentreef.interviewquestions.takehome.exceptions.WidgetAlreadyExistsException;
 import com.talentreef.interviewquestions.takehome.exceptions.WidgetNotFoundException;
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import com.talentreef.interviewquestions.takehome.exceptions.SyncTokenExpiredException;
 import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetDelta;
+import com.talentreef.interviewquestions.takehome.models.WidgetFilter;
+import com.talentreef.interviewquestions.takehome.models.WidgetPage;
+import com.talentreef.interviewquestions.takehome.models.WidgetSort;
 import com.talentreef.interviewquestions.takehome.services.WidgetService;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,13 +25,18 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,6 +52,9 @@ public class WidgetControllerTests {
   @MockBean
   private WidgetService widgetService;
 
+  @MockBean
+  private WidgetListSnapshot listSnapshot;
+
   @Autowired
   private ObjectMapper objectMapper;
 
@@ -114,6 +133,26 @@ public class WidgetControllerTests {
             .andExpect(jsonPath("$", hasSize(3)));
   }
 
+  @Test
+  public void createWidget_rejectsNamesThatAreRoutes() throws Exception {
+    for (String reserved : new String[] {"search", "export", "changes"}) {
+      // Arrange
+      WidgetDTO dto = WidgetDTO.builder()
+              .name(reserved)
+              .description("Shadowed by a route.")
+              .price(new BigDecimal("10.00"))
+              .build();
+
+      // Act & Assert
+      mockMvc.perform(post("/v1/widgets")
+                      .contentType(MediaType.APPLICATION_JSON)
+                      .content(objectMapper.writeValueAsString(dto)))
+              .andExpect(status().isBadRequest());
+    }
+
+    verify(widgetService, never()).createWidget(any(WidgetDTO.class));
+  }
+
   @Test
   public void createWidget_boundaryValues() throws Exception {
     // Arrange
@@ -203,6 +242,327 @@ public class WidgetControllerTests {
     verify(widgetService, times(1)).getAllWidgets();
   }
 
+  @Test
+  public void getWidgetPage_success() throws Exception {
+    // Arrange
+    WidgetPage page = WidgetPage.builder()
+            .items(List.of(sampleWidgetDTO))
+            .next("abc")
+            .build();
+    when(widgetService.getWidgetPage(null, 1)).thenReturn(page);
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets").param("limit", "1")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items", hasSize(1)))
+            .andExpect(jsonPath("$.items[0].name", is("Sample Widget")))
+            .andExpect(jsonPath("$.next", is("abc")));
+
+    verify(widgetService, never()).getAllWidgets();
+  }
+
+  @Test
+  public void getChanges_returnsDeltaAndToken() throws Exception {
+    // Arrange
+    WidgetDelta delta = WidgetDelta.builder()
+            .items(List.of(sampleWidgetDTO))
+            .deleted(List.of("Gone Widget"))
+            .token("next-token")
+            .build();
+    when(widgetService.getChanges("old-token", null)).thenReturn(delta);
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets").param("since", "old-token"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].name", is("Sample Widget")))
+            .andExpect(jsonPath("$.deleted[0]", is("Gone Widget")))
+            .andExpect(jsonPath("$.token", is("next-token")))
+            .andExpect(jsonPath("$.more", is(false)));
+
+    verify(widgetService, never()).getAllWidgets();
+  }
+
+  @Test
+  public void getChanges_expiredToken() throws Exception {
+    // Arrange
+    when(widgetService.getChanges("stale", null)).thenThrow(new SyncTokenExpiredException("resync"));
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets").param("since", "stale"))
+            .andExpect(status().isGone());
+  }
+
+  @Test
+  public void getChanges_unavailableOnThisNode() throws Exception {
+    // Arrange
+    when(widgetService.getChanges("some-token", null)).thenThrow(new DeltaSyncUnavailableException("no delta sync"));
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets").param("since", "some-token"))
+            .andExpect(status().isNotImplemented());
+  }
+
+  @Test
+  public void getWidgetPage_invalidCursor() throws Exception {
+    // Arrange
+    when(widgetService.getWidgetPage("bogus", null))
+            .thenThrow(new InvalidRequestException("Invalid cursor"));
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets").param("cursor", "bogus")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("Invalid cursor"));
+  }
+
+  @Test
+  public void getWidgetPage_filteredAndSorted() throws Exception {
+    // Arrange
+    WidgetFilter filter = WidgetFilter.builder()
+            .minPrice(new BigDecimal("10.00"))
+            .namePrefix("Sample")
+            .sort(WidgetSort.PRICE_DESC)
+            .build();
+    WidgetPage page = WidgetPage.builder()
+            .items(List.of(sampleWidgetDTO))
+            .build();
+    when(widgetService.getWidgetPage(filter, null, null)).thenReturn(page);
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets")
+                    .param("minPrice", "10.00")
+                    .param("namePrefix", "Sample")
+                    .param("sort", "price,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].name", is("Sample Widget")));
+
+    verify(widgetService, never()).getAllWidgets();
+  }
+
+  @Test
+  public void getWidgetPage_sparseFields() throws Exception {
+    // Arrange
+    WidgetFilter filter = WidgetFilter.builder()
+            .sort(WidgetSort.ID_ASC)
+            .fields(Set.of("name", "price"))
+            .build();
+    WidgetPage page = WidgetPage.builder()
+            .items(List.of(sampleWidgetDTO))
+            .next("abc")
+            .build();
+    when(widgetService.getWidgetPage(filter, null, 10)).thenReturn(page);
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets").param("limit", "10").param("fields", "price,name"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andExpect(jsonPath("$.items[0].name", is("Sample Widget")))
+            .andExpect(jsonPath("$.items[0].price", is(99.99)))
+            .andExpect(jsonPath("$.items[0].description").doesNotExist())
+            .andExpect(jsonPath("$.items[0].id").doesNotExist())
+            .andExpect(jsonPath("$.next", is("abc")));
+  }
+
+  @Test
+  public void getAllWidgets_fieldsAloneKeepsTheArray() throws Exception {
+    // Arrange
+    when(widgetService.getAllWidgets()).thenReturn(List.of(sampleWidgetDTO));
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets").param("fields", "name"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].name", is("Sample Widget")))
+            .andExpect(jsonPath("$[0].price").doesNotExist());
+
+    verify(widgetService, never()).getWidgetPage(any(), any(), any());
+  }
+
+  @Test
+  public void getWidgetPage_unknownField() throws Exception {
+    mockMvc.perform(get("/v1/widgets").param("fields", "name,secret"))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("Unknown field: secret"));
+
+    verifyNoInteractions(widgetService);
+  }
+
+  @Test
+  public void getWidgetPage_invalidSort() throws Exception {
+    mockMvc.perform(get("/v1/widgets").param("sort", "description"))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string("Invalid sort: description"));
+  }
+
+  @Test
+  public void getAllWidgets_negotiatesCbor() throws Exception {
+    // Arrange
+    ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    when(widgetService.getAllWidgets()).thenReturn(List.of(sampleWidgetDTO));
+
+    // Act
+    MvcResult result = mockMvc.perform(get("/v1/widgets").accept("application/cbor"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/cbor"))
+            .andExpect(header().string("Vary", containsString("Accept")))
+            .andReturn();
+
+    // Assert
+    List<WidgetDTO> widgets = cbor.readValue(result.getResponse().getContentAsByteArray(), new TypeReference<>() {
+    });
+    assertEquals(List.of(sampleWidgetDTO), widgets);
+  }
+
+  @Test
+  public void getAllWidgets_snapshotGzipHasItsOwnEtag() throws Exception {
+    // Arrange
+    byte[] json = "[]".getBytes();
+    byte[] gzip = {31, -117, 8, 0};
+    when(listSnapshot.isEnabled()).thenReturn(true);
+    when(listSnapshot.current()).thenReturn(new WidgetListSnapshot.Snapshot(1, 0, json, gzip, "\"abc\""));
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets").header("Accept-Encoding", "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"abc-gzip\""))
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andExpect(content().bytes(gzip));
+    mockMvc.perform(get("/v1/widgets"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"abc\""))
+            .andExpect(content().bytes(json));
+    // A tag held for one encoding must not revalidate the other
+    mockMvc.perform(get("/v1/widgets").header("Accept-Encoding", "gzip").header("If-None-Match", "\"abc\""))
+            .andExpect(status().isOk());
+    mockMvc.perform(get("/v1/widgets").header("Accept-Encoding", "gzip").header("If-None-Match", "\"abc-gzip\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().stringValues("Vary", hasItem(containsString("Accept-Encoding"))));
+  }
+
+  @Test
+  public void getWidgetByName_etagIsDistinctPerFormat() throws Exception {
+    // Arrange
+    sampleWidgetDTO.setVersion(3L);
+    when(widgetService.getWidgetByName("Sample Widget")).thenReturn(sampleWidgetDTO);
+
+    // Act
+    String json = mockMvc.perform(get("/v1/widgets/Sample Widget").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+    String cbor = mockMvc.perform(get("/v1/widgets/Sample Widget").accept("application/cbor"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/cbor"))
+            .andReturn().getResponse().getHeader("ETag");
+
+    // Assert: a JSON validator must not revalidate the CBOR body, and vice versa
+    assertEquals("\"1.3\"", json);
+    assertEquals("\"1.3-cbor\"", cbor);
+    mockMvc.perform(get("/v1/widgets/Sample Widget").accept("application/cbor").header("If-None-Match", json))
+            .andExpect(status().isOk());
+    mockMvc.perform(get("/v1/widgets/Sample Widget").accept("application/cbor").header("If-None-Match", cbor))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("Vary", containsString("Accept")));
+  }
+
+  @Test
+  public void updateWidget_ifMatchAcceptsTheTagOfAnyFormat() throws Exception {
+    // Arrange
+    WidgetDTO updateDTO = WidgetDTO.builder()
+            .name("Sample Widget")
+            .description("Updated description.")
+            .price(new BigDecimal("149.99"))
+            .build();
+    sampleWidgetDTO.setVersion(3L);
+    when(widgetService.getCurrentWidget("Sample Widget")).thenReturn(sampleWidgetDTO);
+    when(widgetService.updateWidget(eq("Sample Widget"), any(WidgetDTO.class))).thenReturn(sampleWidgetDTO);
+
+    // Act & Assert
+    mockMvc.perform(put("/v1/widgets/Sample Widget")
+                    .header("If-Match", "\"1.3-cbor\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(updateDTO)))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"1.3\""));
+  }
+
+  @Test
+  public void createWidget_consumesAndProducesSmile() throws Exception {
+    // Arrange
+    ObjectMapper smile = new ObjectMapper(new SmileFactory());
+    WidgetDTO inputDTO = WidgetDTO.builder()
+            .name("Sample Widget")
+            .description("A sample widget for testing.")
+            .price(new BigDecimal("99.99"))
+            .build();
+    when(widgetService.createWidget(inputDTO)).thenReturn(sampleWidgetDTO);
+
+    // Act
+    MvcResult result = mockMvc.perform(post("/v1/widgets")
+                    .contentType("application/x-jackson-smile")
+                    .accept("application/x-jackson-smile")
+                    .content(smile.writeValueAsBytes(inputDTO)))
+            .andExpect(status().isCreated())
+            .andExpect(content().contentType("application/x-jackson-smile"))
+            .andReturn();
+
+    // Assert
+    assertEquals(sampleWidgetDTO, smile.readValue(result.getResponse().getContentAsByteArray(), WidgetDTO.class));
+  }
+
+  @Test
+  public void searchWidgets_success() throws Exception {
+    // Arrange
+    WidgetPage page = WidgetPage.builder()
+            .items(List.of(sampleWidgetDTO))
+            .next(null)
+            .build();
+    when(widgetService.searchWidgets("sample", null, null)).thenReturn(page);
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets/search").param("q", "sample")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andExpect(jsonPath("$.items", hasSize(1)))
+            .andExpect(jsonPath("$.items[0].name", is("Sample Widget")));
+
+    verify(widgetService, never()).getWidgetByName(any());
+  }
+
+  @Test
+  public void searchWidgets_missingQuery() throws Exception {
+    mockMvc.perform(get("/v1/widgets/search"))
+            .andExpect(status().isBadRequest());
+
+    verify(widgetService, never()).searchWidgets(any(), any(), any());
+  }
+
+  @Test
+  public void exportWidgets_streamsNdjson() throws Exception {
+    // Arrange
+    when(widgetService.exportWidgets(any())).thenAnswer(invocation -> {
+      Consumer<WidgetDTO> sink = invocation.getArgument(0);
+      sink.accept(sampleWidgetDTO);
+      sink.accept(sampleWidgetDTO);
+      return 2L;
+    });
+
+    // Act & Assert
+    MvcResult result = mockMvc.perform(get("/v1/widgets/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andReturn().getResponse().getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertTrue(lines.length == 2);
+    assertTrue(lines[0].contains("\"name\":\"Sample Widget\""));
+  }
+
   @Test
   public void getWidgetByName_success() throws Exception {
     // Arrange
@@ -220,6 +580,56 @@ public class WidgetControllerTests {
     verify(widgetService, times(1)).getWidgetByName("Sample Widget");
   }
 
+  @Test
+  public void getWidgetByName_sparseFields() throws Exception {
+    // Arrange
+    when(widgetService.getWidgetByName("Sample Widget")).thenReturn(sampleWidgetDTO);
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets/Sample Widget").param("fields", "name"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name", is("Sample Widget")))
+            .andExpect(jsonPath("$.description").doesNotExist())
+            .andExpect(jsonPath("$.price").doesNotExist());
+  }
+
+  @Test
+  public void getWidgetByName_notModified() throws Exception {
+    // Arrange
+    when(widgetService.getWidgetByName("Sample Widget")).thenReturn(sampleWidgetDTO);
+    String etag = mockMvc.perform(get("/v1/widgets/Sample Widget"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andReturn().getResponse().getHeader("ETag");
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets/Sample Widget").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", etag))
+            .andExpect(content().string(""));
+  }
+
+  @Test
+  public void getAllWidgets_etagChangesWithContent() throws Exception {
+    // Arrange
+    when(widgetService.getAllWidgets()).thenReturn(List.of(sampleWidgetDTO));
+    String etag = mockMvc.perform(get("/v1/widgets"))
+            .andReturn().getResponse().getHeader("ETag");
+    WidgetDTO changed = WidgetDTO.builder()
+            .id(1L)
+            .name("Sample Widget")
+            .description("A sample widget for testing.")
+            .price(new BigDecimal("89.99"))
+            .build();
+    when(widgetService.getAllWidgets()).thenReturn(List.of(changed));
+
+    // Act & Assert
+    mockMvc.perform(get("/v1/widgets").header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", not(etag)))
+            .andExpect(jsonPath("$[0].price", is(89.99)));
+  }
+
   @Test
   public void getWidgetByName_notFound() throws Exception {
     // Arrange
@@ -286,6 +696,147 @@ public class WidgetControllerTests {
             .andExpect(status().isNotFound());
   }
 
+  @Test
+  public void updateWidget_ifMatchPassesVersion() throws Exception {
+    // Arrange
+    WidgetDTO updateDTO = WidgetDTO.builder()
+            .name("Sample Widget")
+            .description("Updated description.")
+            .price(new BigDecimal("149.99"))
+            .build();
+    WidgetDTO updatedDTO = WidgetDTO.builder()
+            .id(1L)
+            .name("Sample Widget")
+            .description("Updated description.")
+            .price(new BigDecimal("149.99"))
+            .version(4L)
+            .build();
+    sampleWidgetDTO.setVersion(3L);
+    when(widgetService.getCurrentWidget("Sample Widget")).thenReturn(sampleWidgetDTO);
+    when(widgetService.updateWidget(eq("Sample Widget"), argThat(dto -> Long.valueOf(3L).equals(dto.getVersion()))))
+            .thenReturn(updatedDTO);
+
+    // Act & Assert
+    mockMvc.perform(put("/v1/widgets/Sample Widget")
+                    .header("If-Match", "\"1.3\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(updateDTO)))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", "\"1.4\""))
+            .andExpect(jsonPath("$.version", is(4)));
+  }
+
+  @Test
+  public void updateWidget_ifMatchMismatch() throws Exception {
+    // Arrange
+    WidgetDTO updateDTO = WidgetDTO.builder()
+            .name("Sample Widget")
+            .description("Updated description.")
+            .price(new BigDecimal("149.99"))
+            .build();
+    sampleWidgetDTO.setVersion(3L);
+    when(widgetService.getCurrentWidget("Sample Widget")).thenReturn(sampleWidgetDTO);
+
+    // Act & Assert
+    mockMvc.perform(put("/v1/widgets/Sample Widget")
+                    .header("If-Match", "\"1.2\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(updateDTO)))
+            .andExpect(status().isPreconditionFailed());
+
+    verify(widgetService, never()).updateWidget(any(), any());
+  }
+
+  @Test
+  public void updateWidget_ifMatchFromAnotherWidgetRejected() throws Exception {
+    // Arrange
+    WidgetDTO updateDTO = WidgetDTO.builder()
+            .name("Sample Widget")
+            .description("Updated description.")
+            .price(new BigDecimal("149.99"))
+            .build();
+    sampleWidgetDTO.setVersion(3L);
+    when(widgetService.getCurrentWidget("Sample Widget")).thenReturn(sampleWidgetDTO);
+
+    // Act & Assert: widget 2 at the same version must not satisfy the precondition for widget 1
+    mockMvc.perform(put("/v1/widgets/Sample Widget")
+                    .header("If-Match", "\"2.3\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(updateDTO)))
+            .andExpect(status().isPreconditionFailed());
+
+    verify(widgetService, never()).updateWidget(any(), any());
+  }
+
+  @Test
+  public void updateWidget_ifMatchOnMissingWidgetIsPreconditionFailed() throws Exception {
+    // Arrange
+    WidgetDTO updateDTO = WidgetDTO.builder()
+            .name("NonExistent")
+            .description("Updated description.")
+            .price(new BigDecimal("149.99"))
+            .build();
+    when(widgetService.getCurrentWidget("NonExistent")).thenThrow(new IllegalArgumentException("Widget not found"));
+    when(widgetService.updateWidget(eq("NonExistent"), any(WidgetDTO.class)))
+            .thenThrow(new IllegalArgumentException("Widget not found"));
+
+    // Act & Assert
+    mockMvc.perform(put("/v1/widgets/NonExistent")
+                    .header("If-Match", "*")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(updateDTO)))
+            .andExpect(status().isPreconditionFailed());
+    mockMvc.perform(put("/v1/widgets/NonExistent")
+                    .header("If-Match", "\"1.3\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(updateDTO)))
+            .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  public void updateWidget_ifMatchAnyOnlyRequiresExistence() throws Exception {
+    // Arrange
+    WidgetDTO updateDTO = WidgetDTO.builder()
+            .name("Sample Widget")
+            .description("Updated description.")
+            .price(new BigDecimal("149.99"))
+            .build();
+    when(widgetService.updateWidget(eq("Sample Widget"), argThat(dto -> dto.getVersion() == null)))
+            .thenReturn(sampleWidgetDTO);
+
+    // Act & Assert
+    mockMvc.perform(put("/v1/widgets/Sample Widget")
+                    .header("If-Match", "*")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(updateDTO)))
+            .andExpect(status().isOk());
+
+    verify(widgetService, never()).getCurrentWidget(any());
+    verify(widgetService, never()).getWidgetByName(any());
+  }
+
+  @Test
+  public void updateWidget_weakIfMatchRejected() throws Exception {
+    // Arrange
+    WidgetDTO updateDTO = WidgetDTO.builder()
+            .name("Sample Widget")
+            .description("Updated description.")
+            .price(new BigDecimal("149.99"))
+            .build();
+
+    sampleWidgetDTO.setVersion(2L);
+    when(widgetService.getCurrentWidget("Sample Widget")).thenReturn(sampleWidgetDTO);
+
+    // Act & Assert
+    mockMvc.perform(put("/v1/widgets/Sample Widget")
+                    .header("If-Match", "W/\"1.2\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(updateDTO)))
+            .andExpect(status().isPreconditionFailed());
+
+    verify(widgetService, never()).updateWidget(any(), any());
+  }
+
   @Test
   public void updateWidget_invalidDTO() throws Exception {
     // Arrange
@@ -357,7 +908,7 @@ public class WidgetControllerTests {
     // Act & Assert
     mockMvc.perform(delete("/v1/widgets/NonExistent")
                     .contentType(MediaType.APPLICATION_JSON))
-            .andExpect(status().isConflict())
+            .andExpect(status().isNotFound())
             .andExpect(content().string("Widget not found"));
 
   }
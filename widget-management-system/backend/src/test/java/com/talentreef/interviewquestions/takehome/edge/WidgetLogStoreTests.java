@@ -0,0 +1,220 @@
+package com.talentreef.interviewquestions.takehome.edge;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WidgetLogStoreTests {
+
+  private static final int INITIAL_SIZE = 4096;
+
+  @TempDir
+  Path directory;
+
+  private WidgetLogStore store;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    store = new WidgetLogStore(directory, INITIAL_SIZE, true);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    store.close();
+  }
+
+  @Test
+  public void insertUpdateDelete_roundTrip() {
+    // Act
+    WidgetRecord created = store.insert("Blue Gear", "A small steel gear.", 1999);
+    WidgetRecord duplicate = store.insert("Blue Gear", "Another gear.", 500);
+    WidgetRecord updated = store.update("Blue Gear",
+            current -> new WidgetRecord(current.id(), current.name(), null, 2499, current.version()));
+
+    // Assert
+    assertNull(duplicate);
+    assertEquals(1, created.id());
+    assertEquals(0, created.version());
+    assertEquals(new WidgetRecord(1, "Blue Gear", null, 2499, 1), updated);
+    assertEquals(updated, store.findByName("Blue Gear").orElseThrow());
+    assertTrue(store.delete("Blue Gear"));
+    assertFalse(store.delete("Blue Gear"));
+    assertTrue(store.findByName("Blue Gear").isEmpty());
+    assertNull(store.update("Blue Gear", current -> current));
+  }
+
+  @Test
+  public void findAfter_pagesInIdOrder() {
+    // Arrange
+    for (int i = 0; i < 5; i++) {
+      store.insert("Widget " + i, "Widget for paging.", 100 + i);
+    }
+    store.delete("Widget 1");
+
+    // Act
+    List<WidgetRecord> first = store.findAfter(0, 2);
+    List<WidgetRecord> second = store.findAfter(first.get(1).id(), 10);
+
+    // Assert
+    assertEquals(List.of("Widget 0", "Widget 2"), first.stream().map(WidgetRecord::name).toList());
+    assertEquals(List.of("Widget 3", "Widget 4"), second.stream().map(WidgetRecord::name).toList());
+  }
+
+  @Test
+  public void insertAll_reportsTakenNames() {
+    // Arrange
+    store.insert("Taken Widget", "Already stored.", 100);
+
+    // Act
+    List<WidgetRecord> inserted = store.insertAll(List.of(
+            new WidgetRecord(0, "New Widget", "Fresh.", 200, 0),
+            new WidgetRecord(0, "Taken Widget", "Clashes.", 300, 0)));
+
+    // Assert
+    assertEquals("New Widget", inserted.get(0).name());
+    assertNull(inserted.get(1));
+    assertEquals(2, store.size());
+  }
+
+  @Test
+  public void reopen_replaysTheLogAndKeepsAssigningNewIds() throws IOException {
+    // Arrange
+    store.insert("Blue Gear", "A small steel gear.", 1999);
+    store.insert("Red Sprocket", "Painted red.", 899);
+    store.update("Blue Gear", current -> new WidgetRecord(0, "", "Now bigger.", 2999, 0));
+    store.delete("Red Sprocket");
+    store.close();
+
+    // Act
+    store = new WidgetLogStore(directory, INITIAL_SIZE, true);
+    WidgetRecord next = store.insert("Green Cog", "A cog.", 100);
+
+    // Assert
+    assertEquals(new WidgetRecord(1, "Blue Gear", "Now bigger.", 2999, 1), store.findByName("Blue Gear").orElseThrow());
+    assertTrue(store.findByName("Red Sprocket").isEmpty());
+    assertEquals(3, next.id());
+    assertEquals(2, store.size());
+  }
+
+  @Test
+  public void reopen_dropsATornTail() throws IOException {
+    // Arrange
+    store.insert("Blue Gear", "A small steel gear.", 1999);
+    long intact = store.logBytes();
+    store.insert("Red Sprocket", "Painted red.", 899);
+    store.close();
+    // Corrupt a payload byte of the last record, as a write cut short by a crash would.
+    try (FileChannel channel = FileChannel.open(directory.resolve(WidgetLogStore.LOG_FILE), StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {0x7f}), intact + 20);
+    }
+
+    // Act
+    store = new WidgetLogStore(directory, INITIAL_SIZE, true);
+    long recovered = store.logBytes();
+    WidgetRecord rewritten = store.insert("Red Sprocket", "Painted red.", 899);
+
+    // Assert
+    assertTrue(store.findByName("Blue Gear").isPresent());
+    assertEquals(intact, recovered);
+    assertEquals(2, rewritten.id());
+    assertEquals(2, store.size());
+  }
+
+  @Test
+  public void compact_keepsLiveRecordsAndReclaimsGarbage() throws IOException {
+    // Arrange
+    for (int i = 0; i < 20; i++) {
+      store.insert("Widget " + i, "Widget " + i + " for compaction.", 100 + i);
+    }
+    for (int i = 0; i < 20; i += 2) {
+      store.delete("Widget " + i);
+    }
+    store.update("Widget 1", current -> new WidgetRecord(0, "", "Updated.", 555, 0));
+    long before = store.logBytes();
+
+    // Act
+    store.compact();
+    List<WidgetRecord> afterCompaction = new ArrayList<>();
+    store.forEach(afterCompaction::add);
+    store.close();
+    store = new WidgetLogStore(directory, INITIAL_SIZE, true);
+
+    // Assert
+    assertTrue(store.logBytes() < before);
+    assertEquals(0.0, store.garbageRatio());
+    assertEquals(10, afterCompaction.size());
+    assertEquals(new WidgetRecord(2, "Widget 1", "Updated.", 555, 1), store.findByName("Widget 1").orElseThrow());
+    List<WidgetRecord> reopened = new ArrayList<>();
+    store.forEach(reopened::add);
+    assertEquals(afterCompaction, reopened);
+  }
+
+  @Test
+  public void updateAll_writesNothingWhenAnyChangeIsRejected() {
+    // Arrange
+    store.insert("Blue Gear", "A small steel gear.", 1999);
+    store.insert("Red Sprocket", "Painted red.", 899);
+    long before = store.logBytes();
+
+    // Act
+    assertThrows(IllegalArgumentException.class, () -> store.updateAll(List.of("Blue Gear", "Red Sprocket"), current -> {
+      if (current.name().equals("Red Sprocket")) {
+        throw new IllegalArgumentException("rejected");
+      }
+      return new WidgetRecord(0, "", current.description(), 2999, 0);
+    }));
+    List<WidgetRecord> updated = store.updateAll(List.of("Blue Gear", "Missing", "Red Sprocket"),
+            current -> new WidgetRecord(0, "", "Repriced.", current.priceCents() + 1, 0));
+
+    // Assert
+    assertEquals(List.of("Blue Gear", "Red Sprocket"), updated.stream().map(WidgetRecord::name).toList());
+    assertEquals(new WidgetRecord(1, "Blue Gear", "Repriced.", 2000, 1), store.findByName("Blue Gear").orElseThrow());
+    assertEquals(900, store.findByName("Red Sprocket").orElseThrow().priceCents());
+    assertTrue(store.logBytes() > before);
+  }
+
+  @Test
+  public void compact_neverReusesTheIdsOfDeletedWidgets() throws IOException {
+    // Arrange
+    store.insert("Blue Gear", "A small steel gear.", 1999);
+    store.insert("Red Sprocket", "Painted red.", 899);
+    store.insert("Green Cog", "A cog.", 100);
+    store.delete("Green Cog");
+    store.delete("Red Sprocket");
+    store.compact();
+    store.close();
+
+    // Act
+    store = new WidgetLogStore(directory, INITIAL_SIZE, true);
+    WidgetRecord recreated = store.insert("Green Cog", "A cog.", 100);
+
+    // Assert
+    assertEquals(4, recreated.id());
+    assertEquals(2, store.size());
+    assertEquals(0.0, store.garbageRatio());
+  }
+
+  @Test
+  public void append_growsTheMappingPastItsInitialSize() {
+    // Act
+    for (int i = 0; i < 200; i++) {
+      assertNotNull(store.insert("Widget " + i, "x".repeat(200), 100));
+    }
+
+    // Assert
+    assertTrue(store.logBytes() > INITIAL_SIZE);
+    assertEquals(200, store.size());
+    assertEquals("x".repeat(200), store.findByName("Widget 199").orElseThrow().description());
+  }
+}
@@ -0,0 +1,144 @@
+package com.talentreef.interviewquestions.takehome.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.talentreef.interviewquestions.takehome.config.WidgetImportProperties;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetAlreadyExistsException;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkItemResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetImportResult;
+import com.talentreef.interviewquestions.takehome.services.WidgetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class WidgetImporterTests {
+
+  private WidgetService widgetService;
+
+  private WidgetImportProperties properties;
+
+  private WidgetImporter importer;
+
+  @BeforeEach
+  void setUp() {
+    widgetService = mock(WidgetService.class);
+    when(widgetService.bulkCreateWidgets(anyList())).thenAnswer(call -> created(call.getArgument(0)));
+    when(widgetService.bulkUpsertWidgets(anyList())).thenAnswer(call -> created(call.getArgument(0)));
+    properties = new WidgetImportProperties();
+    importer = new WidgetImporter(widgetService, new ObjectMapper(), properties);
+  }
+
+  @Test
+  public void importWidgets_readsCsvAndReportsUnparsableRows() throws Exception {
+    // Arrange
+    String csv = """
+            name,description,price,color
+            Blue Gear,A blue gear for testing.,10.00,blue
+            Red Gear,A red gear for testing.,not-a-price,red
+            Green Gear,,12.50,green
+            """;
+
+    // Act
+    WidgetImportResult result = importer.importWidgets(body(csv), WidgetImporter.Format.CSV, false, null);
+
+    // Assert
+    assertEquals(3, result.getRows());
+    assertEquals(2, result.getCreated());
+    assertEquals(1, result.getInvalid());
+    assertEquals(1, result.getErrors().size());
+    assertFalse(result.getErrors().get(0).getErrors().isEmpty());
+    ArgumentCaptor<List<WidgetDTO>> chunk = chunkCaptor();
+    verify(widgetService).bulkCreateWidgets(chunk.capture());
+    assertEquals(List.of("Blue Gear", "Green Gear"), chunk.getValue().stream().map(WidgetDTO::getName).toList());
+    assertNull(chunk.getValue().get(1).getDescription());
+  }
+
+  @Test
+  public void importWidgets_commitsNdjsonInChunks() throws Exception {
+    // Arrange
+    StringBuilder ndjson = new StringBuilder();
+    for (int i = 0; i < 5; i++) {
+      ndjson.append("{\"name\":\"Widget ").append(i).append("\",\"price\":10.00}\n");
+    }
+    ndjson.append("\n{broken\n");
+
+    // Act
+    WidgetImportResult result = importer.importWidgets(body(ndjson.toString()), WidgetImporter.Format.NDJSON, false, 2);
+
+    // Assert
+    assertEquals(6, result.getRows());
+    assertEquals(5, result.getCreated());
+    assertEquals(1, result.getInvalid());
+    assertEquals(7, result.getErrors().get(0).getLine());
+    verify(widgetService, times(3)).bulkCreateWidgets(anyList());
+  }
+
+  @Test
+  public void importWidgets_carriesOnAfterAChunkRollsBack() throws Exception {
+    // Arrange
+    when(widgetService.bulkUpsertWidgets(anyList()))
+            .thenThrow(new WidgetAlreadyExistsException("A concurrent request created one of the widgets; retry the batch."))
+            .thenAnswer(call -> created(call.getArgument(0)));
+    String ndjson = """
+            {"name":"Widget A","price":10.00}
+            {"name":"Widget B","price":10.00}
+            {"name":"Widget C","price":10.00}
+            """;
+
+    // Act
+    WidgetImportResult result = importer.importWidgets(body(ndjson), WidgetImporter.Format.NDJSON, true, 2);
+
+    // Assert
+    assertEquals(2, result.getFailed());
+    assertEquals(1, result.getCreated());
+    assertEquals(List.of("Widget A", "Widget B"), result.getErrors().stream().map(e -> e.getName()).toList());
+    verify(widgetService, never()).bulkCreateWidgets(anyList());
+  }
+
+  @Test
+  public void importWidgets_capsTheErrorReport() throws Exception {
+    // Arrange
+    properties.setMaxReportedErrors(1);
+
+    // Act
+    WidgetImportResult result = importer.importWidgets(body("{\n{\n{\n"), WidgetImporter.Format.NDJSON, false, null);
+
+    // Assert
+    assertEquals(3, result.getInvalid());
+    assertEquals(1, result.getErrors().size());
+    assertTrue(result.isErrorsTruncated());
+    verify(widgetService, never()).bulkCreateWidgets(anyList());
+  }
+
+  private static InputStream body(String text) {
+    return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArgumentCaptor<List<WidgetDTO>> chunkCaptor() {
+    return ArgumentCaptor.forClass((Class<List<WidgetDTO>>) (Class<?>) List.class);
+  }
+
+  private static WidgetBulkResult created(List<WidgetDTO> chunk) {
+    List<WidgetBulkItemResult> items = new ArrayList<>();
+    for (int i = 0; i < chunk.size(); i++) {
+      items.add(WidgetBulkItemResult.builder()
+              .index(i)
+              .name(chunk.get(i).getName())
+              .status(WidgetBulkItemResult.Status.CREATED)
+              .build());
+    }
+    return WidgetBulkResult.builder().created(items.size()).results(items).build();
+  }
+}
@@ -0,0 +1,53 @@
+package com.talentreef.interviewquestions.takehome.logging;
+
+import com.talentreef.interviewquestions.takehome.config.AccessLogProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessLogFilterTests {
+
+    private AccessLogFilter filter(double sampleRate) {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSuccessSampleRate(sampleRate);
+        properties.setSlowThreshold(Duration.ofMillis(100));
+        return new AccessLogFilter(properties);
+    }
+
+    @Test
+    public void shouldLog_alwaysLogsErrorsAndSlowRequests() {
+        // Arrange
+        AccessLogFilter filter = filter(0.0);
+
+        // Act & Assert
+        assertTrue(filter.shouldLog(404, Duration.ofMillis(1).toNanos()));
+        assertTrue(filter.shouldLog(500, Duration.ofMillis(1).toNanos()));
+        assertTrue(filter.shouldLog(200, Duration.ofMillis(150).toNanos()));
+    }
+
+    @Test
+    public void shouldLog_samplesFastSuccesses() {
+        // Act & Assert
+        assertFalse(filter(0.0).shouldLog(200, Duration.ofMillis(1).toNanos()));
+        assertTrue(filter(1.0).shouldLog(200, Duration.ofMillis(1).toNanos()));
+    }
+
+    @Test
+    public void doFilter_passesRequestThrough() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/widgets");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter(1.0).doFilter(request, response, chain);
+
+        // Assert
+        assertSame(request, chain.getRequest());
+    }
+}
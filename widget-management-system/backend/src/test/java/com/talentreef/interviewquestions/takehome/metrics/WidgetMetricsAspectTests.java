@@ -0,0 +1,65 @@
+package com.talentreef.interviewquestions.takehome.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class WidgetMetricsAspectTests {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  public void crudCalls_areTimedPerLayerAndOutcome() throws Exception {
+    // Act
+    mockMvc.perform(post("/v1/widgets")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"Metered Widget\",\"description\":\"Widget for metrics.\",\"price\":10.00}"))
+            .andExpect(status().isCreated());
+    mockMvc.perform(get("/v1/widgets/Missing Widget"))
+            .andExpect(status().isNotFound());
+    mockMvc.perform(delete("/v1/widgets/Metered Widget"))
+            .andExpect(status().isNoContent());
+
+    // Assert
+    assertEquals(1, timerCount("controller", "createWidget", "ok"));
+    assertEquals(1, timerCount("service", "createWidget", "ok"));
+    assertTrue(timerCount("repository", "saveAndFlush", "ok") >= 1);
+    assertEquals(1, timerCount("service", "getWidgetByName", "not_found"));
+    assertEquals(1, timerCount("repository", "findProjectedByName", "not_found"));
+    assertEquals(1, timerCount("controller", "deleteWidget", "ok"));
+    assertNotNull(meterRegistry.find("widgets.rows").gauge());
+  }
+
+  @Test
+  public void outcomeOf_mapsStatusCodes() {
+    assertEquals("conflict", WidgetMetricsAspect.outcomeOf(
+            org.springframework.http.ResponseEntity.status(409).build()));
+    assertEquals("invalid", WidgetMetricsAspect.outcomeOf(
+            org.springframework.http.ResponseEntity.badRequest().build()));
+    assertEquals("ok", WidgetMetricsAspect.outcomeOf(
+            org.springframework.http.ResponseEntity.ok().build()));
+  }
+
+  private long timerCount(String layer, String operation, String outcome) {
+    return meterRegistry.get(WidgetMetricsAspect.TIMER_NAME)
+            .tag("layer", layer)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .timer()
+            .count();
+  }
+}
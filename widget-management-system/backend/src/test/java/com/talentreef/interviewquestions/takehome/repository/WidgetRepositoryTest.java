@@ -1,15 +1,25 @@
 package com.talentreef.interviewquestions.takehome.repository;
 
 import com.talentreef.interviewquestions.takehome.models.Widget;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetFilter;
+import com.talentreef.interviewquestions.takehome.models.WidgetSort;
+import com.talentreef.interviewquestions.takehome.models.WidgetTombstone;
 import com.talentreef.interviewquestions.takehome.repositories.WidgetRepository;
+import com.talentreef.interviewquestions.takehome.repositories.WidgetSpecifications;
+import com.talentreef.interviewquestions.takehome.repositories.WidgetTombstoneRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,6 +29,9 @@ public class WidgetRepositoryTest {
     @Autowired
     private WidgetRepository widgetRepository;
 
+    @Autowired
+    private WidgetTombstoneRepository tombstoneRepository;
+
     private Widget sampleWidget;
 
     @BeforeEach
@@ -92,19 +105,21 @@ public class WidgetRepositoryTest {
         Widget savedWidget = widgetRepository.save(sampleWidget);
 
         // Act
-        widgetRepository.deleteByName("Sample Widget");
+        int deleted = widgetRepository.deleteByName("Sample Widget");
         Optional<Widget> result = widgetRepository.findByName("Sample Widget");
 
         // Assert
+        assertEquals(1, deleted);
         assertFalse(result.isPresent());
     }
 
     @Test
     public void deleteByName_nonExistent() {
         // Act
-        widgetRepository.deleteByName("NonExistent");
+        int deleted = widgetRepository.deleteByName("NonExistent");
 
         // Assert (no exception expected, operation is idempotent)
+        assertEquals(0, deleted);
         assertFalse(widgetRepository.existsByName("NonExistent"));
     }
 
@@ -189,4 +204,259 @@ public class WidgetRepositoryTest {
     }
 
 
-}
\ No newline at end of file
+    @Test
+    public void findPageAfter_returnsKeysetPagesInIdOrder() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            widgetRepository.save(Widget.builder()
+                    .name("Paged Widget " + i)
+                    .description("Widget for paging.")
+                    .price(new BigDecimal("10.00"))
+                    .build());
+        }
+
+        // Act
+        List<WidgetDTO> firstPage = widgetRepository.findPageAfter(0L, PageRequest.of(0, 3));
+        List<WidgetDTO> secondPage = widgetRepository.findPageAfter(
+                firstPage.get(firstPage.size() - 1).getId(), PageRequest.of(0, 3));
+
+        // Assert
+        assertEquals(3, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertTrue(firstPage.get(2).getId() < secondPage.get(0).getId());
+        assertEquals("Paged Widget 0", firstPage.get(0).getName());
+        assertEquals("Paged Widget 4", secondPage.get(1).getName());
+    }
+
+    @Test
+    public void streamAll_streamsEveryWidget() {
+        // Arrange
+        widgetRepository.save(sampleWidget);
+        widgetRepository.save(Widget.builder()
+                .name("Another Widget")
+                .description("Another test widget.")
+                .price(new BigDecimal("149.99"))
+                .build());
+
+        // Act
+        List<String> names;
+        try (Stream<Widget> widgets = widgetRepository.streamAll()) {
+            names = widgets.map(Widget::getName).toList();
+        }
+
+        // Assert
+        assertEquals(List.of("Sample Widget", "Another Widget"), names);
+    }
+
+    @Test
+    public void findTop_filtersByPriceAndPagesByPriceKeyset() {
+        // Arrange
+        String[] prices = {"5.00", "20.00", "10.00", "10.00", "50.00"};
+        for (int i = 0; i < prices.length; i++) {
+            widgetRepository.save(Widget.builder()
+                    .name("Priced Widget " + i)
+                    .description("Widget for filtering.")
+                    .price(new BigDecimal(prices[i]))
+                    .build());
+        }
+        WidgetFilter filter = WidgetFilter.builder()
+                .minPrice(new BigDecimal("10.00"))
+                .maxPrice(new BigDecimal("20.00"))
+                .build();
+
+        // Act
+        List<WidgetDTO> firstPage = widgetRepository.findTop(WidgetSpecifications.matching(filter),
+                WidgetSpecifications.orderOf(WidgetSort.PRICE_DESC), 2, true);
+        WidgetDTO last = firstPage.get(1);
+        Specification<Widget> afterLast = WidgetSpecifications.matching(filter)
+                .and(WidgetSpecifications.afterPrice(last.getPrice(), last.getId(), false));
+        List<WidgetDTO> secondPage = widgetRepository.findTop(afterLast,
+                WidgetSpecifications.orderOf(WidgetSort.PRICE_DESC), 2, true);
+
+        // Assert
+        assertEquals(List.of("Priced Widget 1", "Priced Widget 3"), firstPage.stream().map(WidgetDTO::getName).toList());
+        assertEquals(List.of("Priced Widget 2"), secondPage.stream().map(WidgetDTO::getName).toList());
+    }
+
+    @Test
+    public void findTop_matchesLiteralNamePrefix() {
+        // Arrange
+        widgetRepository.save(sampleWidget);
+        widgetRepository.save(Widget.builder()
+                .name("Sample_Gear")
+                .description("Widget with an underscore.")
+                .price(new BigDecimal("15.00"))
+                .build());
+
+        // Act
+        List<WidgetDTO> result = widgetRepository.findTop(WidgetSpecifications.nameStartsWith("Sample_"),
+                WidgetSpecifications.orderOf(WidgetSort.NAME_ASC), 10, true);
+
+        // Assert
+        assertEquals(List.of("Sample_Gear"), result.stream().map(WidgetDTO::getName).toList());
+    }
+
+    @Test
+    public void findProjectedByName_buildsDtoWithVersion() {
+        // Arrange
+        widgetRepository.saveAndFlush(sampleWidget);
+
+        // Act
+        Optional<WidgetDTO> result = widgetRepository.findProjectedByName("Sample Widget");
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("A sample widget for testing.", result.get().getDescription());
+        assertEquals(new BigDecimal("99.99"), result.get().getPrice());
+        assertNotNull(result.get().getVersion());
+        assertTrue(widgetRepository.findProjectedByName("Missing Widget").isEmpty());
+    }
+
+    @Test
+    public void findTop_withoutDescriptionSkipsTheColumn() {
+        // Arrange
+        widgetRepository.save(sampleWidget);
+
+        // Act
+        List<WidgetDTO> result = widgetRepository.findTop(Specification.where(null),
+                WidgetSpecifications.orderOf(WidgetSort.ID_ASC), 10, false);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Sample Widget", result.get(0).getName());
+        assertNull(result.get(0).getDescription());
+        assertEquals(new BigDecimal("99.99"), result.get(0).getPrice());
+    }
+
+    @Test
+    public void findModifiedBetween_returnsTheWindowInChangeOrder() {
+        // Arrange
+        long[] modSeqs = {5, 2, 9, 7};
+        for (int i = 0; i < modSeqs.length; i++) {
+            widgetRepository.save(Widget.builder()
+                    .name("Synced Widget " + i)
+                    .description("Widget for delta sync.")
+                    .price(new BigDecimal("10.00"))
+                    .modSeq(modSeqs[i])
+                    .build());
+        }
+
+        // Act
+        List<Widget> result = widgetRepository.findModifiedBetween(2L, 8L, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of("Synced Widget 0", "Synced Widget 3"), result.stream().map(Widget::getName).toList());
+        assertEquals(9L, widgetRepository.maxModSeq());
+    }
+
+    @Test
+    public void tombstones_areOverwrittenPerName() {
+        // Arrange
+        tombstoneRepository.save(new WidgetTombstone("Gone Widget", 3L, Instant.now()));
+        tombstoneRepository.save(new WidgetTombstone("Gone Widget", 8L, Instant.now()));
+        tombstoneRepository.save(new WidgetTombstone("Other Widget", 5L, Instant.now()));
+
+        // Act
+        List<WidgetTombstone> result = tombstoneRepository.findWrittenBetween(0L, 10L, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of("Other Widget", "Gone Widget"), result.stream().map(WidgetTombstone::getName).toList());
+        assertEquals(8L, tombstoneRepository.maxModSeq());
+    }
+
+    @Test
+    public void updateByIdIn_repricesOnlyTheGivenIdsInIdOrder() {
+        // Arrange
+        Widget low = widgetRepository.saveAndFlush(bulkWidget("Gear A", "10.01"));
+        Widget high = widgetRepository.saveAndFlush(bulkWidget("Gear B", "19990.00"));
+        Widget last = widgetRepository.saveAndFlush(bulkWidget("Gear C", "20.00"));
+        widgetRepository.saveAndFlush(bulkWidget("Gear D", "10.01"));
+
+        // Act
+        int updated = widgetRepository.updateByIdIn(List.of(low.getId(), high.getId(), last.getId()), null, null,
+                new BigDecimal("1.055"), new BigDecimal("1.00"), new BigDecimal("20000.00"), 100L);
+
+        // Assert
+        assertEquals(2, updated);
+        Widget repriced = widgetRepository.findByName("Gear A").orElseThrow();
+        assertEquals(new BigDecimal("10.56"), repriced.getPrice());
+        assertEquals(100L, repriced.getModSeq());
+        assertEquals(low.getVersion() + 1, repriced.getVersion());
+        assertEquals(102L, widgetRepository.findByName("Gear C").orElseThrow().getModSeq());
+        assertEquals(new BigDecimal("21.10"), widgetRepository.findByName("Gear C").orElseThrow().getPrice());
+        assertEquals(new BigDecimal("19990.00"), widgetRepository.findByName("Gear B").orElseThrow().getPrice());
+        assertEquals(new BigDecimal("10.01"), widgetRepository.findByName("Gear D").orElseThrow().getPrice());
+        assertEquals(List.of("Gear A", "Gear C"), widgetRepository.findProjectedModifiedBetween(99L, 200L).stream()
+                .map(WidgetDTO::getName)
+                .toList());
+    }
+
+    @Test
+    public void updateByIdIn_setsAFixedPriceAndDescription() {
+        // Arrange
+        Widget first = widgetRepository.saveAndFlush(bulkWidget("Gear A", "10.00"));
+        Widget second = widgetRepository.saveAndFlush(bulkWidget("Gear B", "30.00"));
+
+        // Act
+        int updated = widgetRepository.updateByIdIn(List.of(first.getId(), second.getId()), "Repriced gear.",
+                new BigDecimal("15.00"), BigDecimal.ONE, new BigDecimal("1.00"), new BigDecimal("20000.00"), 7L);
+
+        // Assert
+        assertEquals(2, updated);
+        Widget b = widgetRepository.findByName("Gear B").orElseThrow();
+        assertEquals(new BigDecimal("15.00"), b.getPrice());
+        assertEquals("Repriced gear.", b.getDescription());
+        assertEquals(8L, b.getModSeq());
+    }
+
+    @Test
+    public void updateReturning_onlyWritesTheExpectedVersionAndReturnsTheRow() {
+        // Arrange
+        Widget saved = widgetRepository.saveAndFlush(sampleWidget);
+        long version = saved.getVersion();
+
+        // Act
+        Optional<WidgetDTO> stale = widgetRepository.updateReturning("Sample Widget", version + 1, null,
+                new BigDecimal("5.00"), 11L);
+        Optional<WidgetDTO> current = widgetRepository.updateReturning("Sample Widget", version, null,
+                new BigDecimal("5.00"), 12L);
+        Optional<WidgetDTO> missing = widgetRepository.updateReturning("Missing Widget", null, "Never written.",
+                null, 13L);
+
+        // Assert
+        assertTrue(stale.isEmpty());
+        assertTrue(missing.isEmpty());
+        assertEquals(new WidgetDTO(saved.getId(), "Sample Widget", "A sample widget for testing.",
+                new BigDecimal("5.00"), version + 1), current.orElseThrow());
+        Widget updated = widgetRepository.findByName("Sample Widget").orElseThrow();
+        assertEquals(new BigDecimal("5.00"), updated.getPrice());
+        assertEquals("A sample widget for testing.", updated.getDescription());
+        assertEquals(version + 1, updated.getVersion());
+        assertEquals(12L, updated.getModSeq());
+    }
+
+    @Test
+    public void deleteByIdIn_countsRemovedRows() {
+        // Arrange
+        Widget first = widgetRepository.saveAndFlush(bulkWidget("Gear A", "10.00"));
+        Widget second = widgetRepository.saveAndFlush(bulkWidget("Gear B", "10.00"));
+        tombstoneRepository.saveAndFlush(new WidgetTombstone("Gear A", 3L, Instant.now()));
+
+        // Act
+        int deleted = widgetRepository.deleteByIdIn(List.of(first.getId(), second.getId(), -1L));
+        int tombstonesCleared = tombstoneRepository.deleteByNameIn(List.of("Gear A", "Gear B"));
+
+        // Assert
+        assertEquals(2, deleted);
+        assertEquals(1, tombstonesCleared);
+        assertEquals(0, widgetRepository.count());
+    }
+
+    private static Widget bulkWidget(String name, String price) {
+        return Widget.builder()
+                .name(name)
+                .description("Widget for bulk changes.")
+                .price(new BigDecimal(price))
+                .build();
+    }
+}
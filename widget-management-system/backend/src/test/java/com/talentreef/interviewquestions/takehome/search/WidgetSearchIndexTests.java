@@ -0,0 +1,101 @@
+package com.talentreef.interviewquestions.takehome.search;
+
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WidgetSearchIndexTests {
+
+  private WidgetSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new WidgetSearchIndex();
+    index.put(widget("Blue Gear", "A small steel gear."));
+    index.put(widget("Gearbox", "Housing for the blue gears."));
+    index.put(widget("Red Sprocket", "Steel sprocket, painted red."));
+  }
+
+  @Test
+  public void search_matchesNameWordPrefixes() {
+    assertEquals(List.of("Gearbox", "Blue Gear"), index.search("gear"));
+    assertEquals(List.of("Red Sprocket"), index.search("spro"));
+  }
+
+  @Test
+  public void search_matchesDescriptionTokensAndRequiresAllTokens() {
+    // Act
+    List<String> steel = index.search("steel");
+    List<String> blueSteel = index.search("blue steel");
+
+    // Assert
+    assertEquals(List.of("Blue Gear", "Red Sprocket"), steel);
+    assertEquals(List.of("Blue Gear"), blueSteel);
+  }
+
+  @Test
+  public void search_ranksNameMatchesAboveDescriptionMatches() {
+    assertEquals(List.of("Blue Gear", "Gearbox"), index.search("blue"));
+  }
+
+  @Test
+  public void search_blankQueryMatchesNothing() {
+    assertTrue(index.search("  ").isEmpty());
+  }
+
+  @Test
+  public void put_replacesPreviousTokens() {
+    // Act
+    index.put(widget("Red Sprocket", "Brass sprocket."));
+
+    // Assert
+    assertTrue(index.search("steel").contains("Blue Gear"));
+    assertFalse(index.search("steel").contains("Red Sprocket"));
+    assertEquals(List.of("Red Sprocket"), index.search("brass"));
+    assertEquals(3, index.size());
+  }
+
+  @Test
+  public void onWidgetChanged_removesDeletedWidgets() {
+    // Act
+    index.onWidgetChanged(new WidgetChangedEvent(WidgetChangedEvent.Type.DELETED, "Gearbox", null));
+
+    // Assert
+    assertEquals(List.of("Blue Gear"), index.search("gear"));
+    assertEquals(2, index.size());
+  }
+
+  @Test
+  public void load_leavesWidgetsChangedDuringTheLoadToTheirEvents() {
+    // Arrange
+    index.beginLoad();
+    index.onWidgetChanged(new WidgetChangedEvent(WidgetChangedEvent.Type.UPDATED, "Blue Gear",
+            widget("Blue Gear", "Now made of brass.")));
+    index.onWidgetChanged(new WidgetChangedEvent(WidgetChangedEvent.Type.DELETED, "Gearbox", null));
+
+    // Act: the load read these rows before the events committed
+    boolean staleUpdate = index.load(widget("Blue Gear", "A small steel gear."));
+    boolean staleDelete = index.load(widget("Gearbox", "Housing for the blue gears."));
+    boolean untouched = index.load(widget("Green Cog", "A small cog."));
+    index.endLoad();
+    index.put(widget("Gearbox", "Back again."));
+
+    // Assert
+    assertFalse(staleUpdate);
+    assertFalse(staleDelete);
+    assertTrue(untouched);
+    assertEquals(List.of("Blue Gear"), index.search("brass"));
+    assertEquals(List.of("Green Cog"), index.search("cog"));
+    assertEquals(List.of("Gearbox"), index.search("again"));
+    assertEquals(4, index.size());
+  }
+
+  private static WidgetDTO widget(String name, String description) {
+    return WidgetDTO.builder().name(name).description(description).build();
+  }
+}
@@ -0,0 +1,216 @@
+package com.talentreef.interviewquestions.takehome.services;
+
+import com.talentreef.interviewquestions.takehome.edge.WidgetLogStore;
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.exceptions.DeltaSyncUnavailableException;
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetAlreadyExistsException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetNotFoundException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetVersionMismatchException;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkChangeResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkDelete;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkUpdate;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetFilter;
+import com.talentreef.interviewquestions.takehome.models.WidgetPage;
+import com.talentreef.interviewquestions.takehome.models.WidgetSort;
+import com.talentreef.interviewquestions.takehome.search.WidgetSearchIndex;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class EdgeWidgetServiceTests {
+
+  @TempDir
+  Path directory;
+
+  private WidgetLogStore store;
+  private ApplicationEventPublisher eventPublisher;
+  private EdgeWidgetService widgetService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    store = new WidgetLogStore(directory, 4096, false);
+    eventPublisher = mock(ApplicationEventPublisher.class);
+    widgetService = new EdgeWidgetService(store, mock(Validator.class), new WidgetSearchIndex(), eventPublisher);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    store.close();
+  }
+
+  @Test
+  public void createWidget_storesPriceInCentsAndPublishes() {
+    // Act
+    WidgetDTO created = widgetService.createWidget(widget("Blue Gear", "19.99"));
+
+    // Assert
+    assertEquals(new BigDecimal("19.99"), created.getPrice());
+    assertEquals(0L, created.getVersion());
+    assertEquals(created, widgetService.getWidgetByName("Blue Gear"));
+    verify(eventPublisher).publishEvent(any(WidgetChangedEvent.class));
+    assertThrows(WidgetAlreadyExistsException.class, () -> widgetService.createWidget(widget("Blue Gear", "5.00")));
+  }
+
+  @Test
+  public void getChanges_isUnavailable() {
+    assertThrows(DeltaSyncUnavailableException.class, () -> widgetService.getChanges("", null));
+  }
+
+  @Test
+  public void createWidget_rejectsFractionalCents() {
+    assertThrows(InvalidRequestException.class, () -> widgetService.createWidget(widget("Blue Gear", "19.999")));
+  }
+
+  @Test
+  public void updateWidget_checksTheVersion() {
+    // Arrange
+    widgetService.createWidget(widget("Blue Gear", "19.99"));
+    WidgetDTO stale = widget("Blue Gear", "24.99");
+    stale.setVersion(5L);
+
+    // Act
+    WidgetDTO updated = widgetService.updateWidget("Blue Gear", widget("Blue Gear", "21.00"));
+
+    // Assert
+    assertEquals(1L, updated.getVersion());
+    assertEquals(new BigDecimal("21.00"), updated.getPrice());
+    assertEquals("Widget for edge tests.", updated.getDescription());
+    assertThrows(WidgetVersionMismatchException.class, () -> widgetService.updateWidget("Blue Gear", stale));
+    assertThrows(IllegalArgumentException.class, () -> widgetService.updateWidget("Missing Widget", stale));
+  }
+
+  @Test
+  public void deleteWidget_missingThrowsNotFound() {
+    // Arrange
+    widgetService.createWidget(widget("Blue Gear", "19.99"));
+
+    // Act
+    widgetService.deleteWidget("Blue Gear");
+
+    // Assert
+    assertThrows(WidgetNotFoundException.class, () -> widgetService.deleteWidget("Blue Gear"));
+    assertThrows(IllegalArgumentException.class, () -> widgetService.getWidgetByName("Blue Gear"));
+  }
+
+  @Test
+  public void getWidgetPage_filtersSortsAndPagesInMemory() {
+    // Arrange
+    String[] prices = {"5.00", "20.00", "10.00", "10.00", "50.00"};
+    for (int i = 0; i < prices.length; i++) {
+      widgetService.createWidget(widget("Priced Widget " + i, prices[i]));
+    }
+    WidgetFilter filter = WidgetFilter.builder()
+            .minPrice(new BigDecimal("10.00"))
+            .maxPrice(new BigDecimal("20.00"))
+            .sort(WidgetSort.PRICE_DESC)
+            .build();
+
+    // Act
+    WidgetPage first = widgetService.getWidgetPage(filter, null, 2);
+    WidgetPage second = widgetService.getWidgetPage(filter, first.getNext(), 2);
+
+    // Assert
+    assertEquals(List.of("Priced Widget 1", "Priced Widget 3"), names(first));
+    assertEquals(List.of("Priced Widget 2"), names(second));
+    assertNull(second.getNext());
+  }
+
+  @Test
+  public void getWidgetPage_pagesByIdWithoutAFilter() {
+    // Arrange
+    for (int i = 0; i < 3; i++) {
+      widgetService.createWidget(widget("Paged Widget " + i, "10.00"));
+    }
+
+    // Act
+    WidgetPage first = widgetService.getWidgetPage(null, 2);
+    WidgetPage second = widgetService.getWidgetPage(first.getNext(), 2);
+
+    // Assert
+    assertEquals(List.of("Paged Widget 0", "Paged Widget 1"), names(first));
+    assertEquals(List.of("Paged Widget 2"), names(second));
+    assertNull(second.getNext());
+  }
+
+  @Test
+  public void bulkUpsertWidgets_overwritesExistingNames() {
+    // Arrange
+    widgetService.createWidget(widget("Blue Gear", "10.00"));
+
+    // Act
+    WidgetBulkResult result = widgetService.bulkUpsertWidgets(List.of(widget("Blue Gear", "12.00"), widget("Red Gear", "20.00")));
+
+    // Assert
+    assertEquals(1, result.getUpdated());
+    assertEquals(1, result.getCreated());
+    assertEquals(new BigDecimal("12.00"), widgetService.getWidgetByName("Blue Gear").getPrice());
+    assertEquals(1L, widgetService.getWidgetByName("Blue Gear").getVersion());
+  }
+
+  @Test
+  public void bulkUpdateWidgets_repricesTheSelection() {
+    // Arrange
+    widgetService.createWidget(widget("Blue Gear", "10.01"));
+    widgetService.createWidget(widget("Red Gear", "20.00"));
+    widgetService.createWidget(widget("Blue Bolt", "10.00"));
+    WidgetBulkUpdate request = WidgetBulkUpdate.builder()
+            .filter(WidgetFilter.builder().maxPrice(new BigDecimal("15.00")).build())
+            .priceFactor(new BigDecimal("1.055"))
+            .build();
+
+    // Act
+    WidgetBulkChangeResult result = widgetService.bulkUpdateWidgets(request);
+
+    // Assert
+    assertEquals(2, result.getAffected());
+    assertEquals(new BigDecimal("10.56"), widgetService.getWidgetByName("Blue Gear").getPrice());
+    assertEquals(new BigDecimal("10.55"), widgetService.getWidgetByName("Blue Bolt").getPrice());
+    assertEquals(new BigDecimal("20.00"), widgetService.getWidgetByName("Red Gear").getPrice());
+  }
+
+  @Test
+  public void bulkDeleteWidgets_dryRunKeepsEverything() {
+    // Arrange
+    widgetService.createWidget(widget("Blue Gear", "10.00"));
+    widgetService.createWidget(widget("Red Gear", "20.00"));
+    WidgetBulkDelete dryRun = WidgetBulkDelete.builder().names(List.of("Red Gear", "Missing")).dryRun(true).build();
+
+    // Act
+    WidgetBulkChangeResult preview = widgetService.bulkDeleteWidgets(dryRun);
+    dryRun.setDryRun(false);
+    WidgetBulkChangeResult result = widgetService.bulkDeleteWidgets(dryRun);
+
+    // Assert
+    assertEquals(List.of("Red Gear"), preview.getNames());
+    assertEquals(0, preview.getAffected());
+    assertEquals(1, result.getAffected());
+    assertEquals(1, widgetService.getAllWidgets().size());
+  }
+
+  private static WidgetDTO widget(String name, String price) {
+    return WidgetDTO.builder()
+            .name(name)
+            .description("Widget for edge tests.")
+            .price(new BigDecimal(price))
+            .build();
+  }
+
+  private static List<String> names(WidgetPage page) {
+    return page.getItems().stream().map(WidgetDTO::getName).toList();
+  }
+}
@@ -0,0 +1,81 @@
+package com.talentreef.interviewquestions.takehome.services;
+
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetAlreadyExistsException;
+import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.repositories.WidgetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class WidgetServiceConcurrencyTests {
+
+  private static final String NAME = "Contended Widget";
+
+  private static final int THREADS = 8;
+
+  @Autowired
+  private WidgetService widgetService;
+
+  @Autowired
+  private WidgetRepository widgetRepository;
+
+  @AfterEach
+  void tearDown() {
+    widgetRepository.deleteByName(NAME);
+  }
+
+  @Test
+  public void createWidget_parallelDuplicates_exactlyOneWins() throws Exception {
+    // Arrange
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> attempts = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      WidgetDTO dto = WidgetDTO.builder()
+              .name(NAME)
+              .description("Created by thread " + i)
+              .price(new BigDecimal("10.00"))
+              .build();
+      attempts.add(pool.submit(() -> {
+        start.await();
+        try {
+          widgetService.createWidget(dto);
+          return true;
+        } catch (WidgetAlreadyExistsException ex) {
+          return false;
+        }
+      }));
+    }
+
+    // Act
+    start.countDown();
+    int created = 0;
+    int conflicts = 0;
+    for (Future<Boolean> attempt : attempts) {
+      if (attempt.get(30, TimeUnit.SECONDS)) {
+        created++;
+      } else {
+        conflicts++;
+      }
+    }
+    pool.shutdown();
+
+    // Assert
+    assertEquals(1, created);
+    assertEquals(THREADS - 1, conflicts);
+    assertTrue(widgetRepository.existsByName(NAME));
+  }
+}
@@ -1,26 +1,64 @@
 package com.talentreef.interviewquestions.takehome.services;
 
+import com.talentreef.interviewquestions.takehome.cache.WidgetCache;
+import com.talentreef.interviewquestions.takehome.cache.WidgetReadCoalescer;
+import com.talentreef.interviewquestions.takehome.config.WidgetCacheProperties;
+import com.talentreef.interviewquestions.takehome.events.WidgetChangedEvent;
+import com.talentreef.interviewquestions.takehome.exceptions.InvalidRequestException;
+import com.talentreef.interviewquestions.takehome.exceptions.SyncTokenExpiredException;
 import com.talentreef.interviewquestions.takehome.exceptions.WidgetAlreadyExistsException;
 import com.talentreef.interviewquestions.takehome.exceptions.WidgetNotFoundException;
+import com.talentreef.interviewquestions.takehome.exceptions.WidgetVersionMismatchException;
 import com.talentreef.interviewquestions.takehome.models.Widget;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkChangeResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkDelete;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkItemResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkResult;
+import com.talentreef.interviewquestions.takehome.models.WidgetBulkUpdate;
 import com.talentreef.interviewquestions.takehome.models.WidgetDTO;
+import com.talentreef.interviewquestions.takehome.models.WidgetDelta;
+import com.talentreef.interviewquestions.takehome.models.WidgetFilter;
+import com.talentreef.interviewquestions.takehome.models.WidgetPage;
+import com.talentreef.interviewquestions.takehome.models.WidgetSort;
+import com.talentreef.interviewquestions.takehome.models.WidgetTombstone;
 import com.talentreef.interviewquestions.takehome.repositories.WidgetRepository;
+import com.talentreef.interviewquestions.takehome.repositories.WidgetTombstoneRepository;
+import com.talentreef.interviewquestions.takehome.search.WidgetSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +67,30 @@ public class WidgetServiceTests {
   @Mock
   private WidgetRepository widgetRepository;
 
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private Validator validator;
+
+  @Spy
+  private WidgetCache widgetCache = new WidgetCache(new WidgetCacheProperties(), new SimpleMeterRegistry());
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Spy
+  private WidgetSearchIndex searchIndex = new WidgetSearchIndex();
+
+  @Mock
+  private WidgetTombstoneRepository tombstoneRepository;
+
+  @Mock
+  private WidgetSyncSequence syncSequence;
+
+  @Spy
+  private WidgetReadCoalescer readCoalescer = new WidgetReadCoalescer(new SimpleMeterRegistry());
+
   @InjectMocks
   private WidgetServiceImpl widgetService;
 
@@ -57,13 +119,13 @@ public class WidgetServiceTests {
   @Test
   public void getAllWidgets_returnsList() {
     // Arrange
-    Widget anotherWidget = Widget.builder()
+    WidgetDTO anotherWidget = WidgetDTO.builder()
             .id(2L)
             .name("Another Widget")
             .description("Another test widget.")
             .price(new BigDecimal("149.99"))
             .build();
-    when(widgetRepository.findAll()).thenReturn(List.of(sampleWidget, anotherWidget));
+    when(widgetRepository.findAllProjected()).thenReturn(List.of(sampleWidgetDTO, anotherWidget));
 
     // Act
     List<WidgetDTO> result = widgetService.getAllWidgets();
@@ -78,7 +140,7 @@ public class WidgetServiceTests {
   @Test
   public void getAllWidgets_emptyList() {
     // Arrange
-    when(widgetRepository.findAll()).thenReturn(List.of());
+    when(widgetRepository.findAllProjected()).thenReturn(List.of());
 
     // Act
     List<WidgetDTO> result = widgetService.getAllWidgets();
@@ -88,11 +150,172 @@ public class WidgetServiceTests {
     verify(widgetRepository, times(1)).findAll();
   }
 
+  // getWidgetPage
+  @Test
+  public void getWidgetPage_hasNextCursorWhenMoreRows() {
+    // Arrange
+    WidgetDTO anotherWidget = WidgetDTO.builder()
+            .id(2L)
+            .name("Another Widget")
+            .description("Another test widget.")
+            .price(new BigDecimal("149.99"))
+            .build();
+    when(widgetRepository.findPageAfter(0L, PageRequest.of(0, 2)))
+            .thenReturn(List.of(sampleWidgetDTO, anotherWidget));
+
+    // Act
+    WidgetPage page = widgetService.getWidgetPage(null, 1);
+
+    // Assert
+    assertEquals(1, page.getItems().size());
+    assertEquals("Sample Widget", page.getItems().get(0).getName());
+    assertNotNull(page.getNext());
+
+    when(widgetRepository.findPageAfter(1L, PageRequest.of(0, 2))).thenReturn(List.of(anotherWidget));
+    WidgetPage nextPage = widgetService.getWidgetPage(page.getNext(), 1);
+    assertEquals("Another Widget", nextPage.getItems().get(0).getName());
+    assertNull(nextPage.getNext());
+  }
+
+  @Test
+  public void getWidgetPage_clampsLimit() {
+    // Arrange
+    when(widgetRepository.findPageAfter(eq(0L), any())).thenReturn(List.of());
+
+    // Act
+    widgetService.getWidgetPage(null, 100_000);
+
+    // Assert
+    verify(widgetRepository).findPageAfter(0L, PageRequest.of(0, WidgetService.MAX_PAGE_SIZE + 1));
+  }
+
+  @Test
+  public void getWidgetPage_invalidCursor() {
+    assertThrows(InvalidRequestException.class, () -> widgetService.getWidgetPage("not-a-cursor", 10));
+    verify(widgetRepository, never()).findPageAfter(anyLong(), any());
+  }
+
+  @Test
+  public void getWidgetPage_filteredUsesSortKeyCursor() {
+    // Arrange
+    WidgetDTO anotherWidget = WidgetDTO.builder()
+            .id(2L)
+            .name("Another Widget")
+            .description("Another test widget.")
+            .price(new BigDecimal("149.99"))
+            .build();
+    WidgetFilter filter = WidgetFilter.builder()
+            .minPrice(new BigDecimal("50.00"))
+            .sort(WidgetSort.PRICE_DESC)
+            .build();
+    Sort priceDesc = Sort.by(Sort.Direction.DESC, "price", "id");
+    when(widgetRepository.findTop(any(), eq(priceDesc), eq(2), eq(true)))
+            .thenReturn(List.of(anotherWidget, sampleWidgetDTO))
+            .thenReturn(List.of(sampleWidgetDTO));
+
+    // Act
+    WidgetPage page = widgetService.getWidgetPage(filter, null, 1);
+    WidgetPage nextPage = widgetService.getWidgetPage(filter, page.getNext(), 1);
+
+    // Assert
+    assertEquals("Another Widget", page.getItems().get(0).getName());
+    assertNotNull(page.getNext());
+    assertEquals("Sample Widget", nextPage.getItems().get(0).getName());
+    assertNull(nextPage.getNext());
+    verify(widgetRepository, never()).findPageAfter(anyLong(), any());
+  }
+
+  @Test
+  public void getWidgetPage_filteredRejectsCursorForOtherSort() {
+    // Arrange
+    WidgetFilter byName = WidgetFilter.builder().sort(WidgetSort.NAME_ASC).build();
+    String priceCursor = WidgetCursor.encode(new WidgetCursor.Position(WidgetSort.PRICE_ASC, 1L, "99.99"));
+
+    // Act & Assert
+    assertThrows(InvalidRequestException.class, () -> widgetService.getWidgetPage(byName, priceCursor, 10));
+    verify(widgetRepository, never()).findTop(any(), any(), anyInt(), anyBoolean());
+  }
+
+  @Test
+  public void getWidgetPage_filteredRejectsInvertedPriceRange() {
+    WidgetFilter filter = WidgetFilter.builder()
+            .minPrice(new BigDecimal("20.00"))
+            .maxPrice(new BigDecimal("10.00"))
+            .build();
+
+    assertThrows(InvalidRequestException.class, () -> widgetService.getWidgetPage(filter, null, 10));
+  }
+
+  // searchWidgets
+  @Test
+  public void searchWidgets_pagesRankedResults() {
+    // Arrange
+    WidgetDTO gearbox = WidgetDTO.builder().id(2L).name("Sample Gearbox").description("Gears.").price(BigDecimal.ONE).build();
+    searchIndex.put(sampleWidgetDTO);
+    searchIndex.put(WidgetDTO.builder().name("Sample Gearbox").description("Gears.").build());
+    when(widgetRepository.findProjectedByNameIn(List.of("Sample Gearbox"))).thenReturn(List.of(gearbox));
+    when(widgetRepository.findProjectedByNameIn(List.of("Sample Widget"))).thenReturn(List.of(sampleWidgetDTO));
+
+    // Act
+    WidgetPage first = widgetService.searchWidgets("sample", null, 1);
+    WidgetPage second = widgetService.searchWidgets("sample", first.getNext(), 1);
+
+    // Assert
+    // Both names start with the query; the description mention ranks Sample Widget first.
+    assertEquals("Sample Widget", first.getItems().get(0).getName());
+    assertNotNull(first.getNext());
+    assertEquals("Sample Gearbox", second.getItems().get(0).getName());
+    assertNull(second.getNext());
+  }
+
+  @Test
+  public void searchWidgets_skipsRowsDeletedSinceIndexing() {
+    // Arrange
+    searchIndex.put(sampleWidgetDTO);
+    when(widgetRepository.findProjectedByNameIn(List.of("Sample Widget"))).thenReturn(List.of());
+
+    // Act
+    WidgetPage page = widgetService.searchWidgets("sample", null, 10);
+
+    // Assert
+    assertTrue(page.getItems().isEmpty());
+    assertNull(page.getNext());
+  }
+
+  @Test
+  public void searchWidgets_blankQuery() {
+    assertThrows(InvalidRequestException.class, () -> widgetService.searchWidgets(" ", null, 10));
+    verify(widgetRepository, never()).findProjectedByNameIn(any());
+  }
+
+  @Test
+  public void searchWidgets_rejectsKeysetCursor() {
+    assertThrows(InvalidRequestException.class,
+            () -> widgetService.searchWidgets("sample", WidgetCursor.encode(5L), 10));
+  }
+
+  // exportWidgets
+  @Test
+  public void exportWidgets_streamsAndDetachesEachRow() {
+    // Arrange
+    when(widgetRepository.streamAll()).thenReturn(Stream.of(sampleWidget));
+    List<WidgetDTO> exported = new ArrayList<>();
+
+    // Act
+    long count = widgetService.exportWidgets(exported::add);
+
+    // Assert
+    assertEquals(1, count);
+    assertEquals("Sample Widget", exported.get(0).getName());
+    verify(entityManager, times(1)).detach(sampleWidget);
+    verify(widgetRepository, never()).findAllProjected();
+  }
+
   // getWidgetByName
   @Test
   public void getWidgetByName_success() {
     // Arrange
-    when(widgetRepository.findByName("Sample Widget")).thenReturn(Optional.of(sampleWidget));
+    when(widgetRepository.findProjectedByName("Sample Widget")).thenReturn(Optional.of(sampleWidgetDTO));
 
     // Act
     Optional<WidgetDTO> result = Optional.ofNullable(widgetService.getWidgetByName("Sample Widget"));
@@ -101,19 +324,58 @@ public class WidgetServiceTests {
     assertTrue(result.isPresent());
     assertEquals("Sample Widget", result.get().getName());
     assertEquals(new BigDecimal("99.99"), result.get().getPrice());
-    verify(widgetRepository, times(1)).findByName("Sample Widget");
+    verify(widgetRepository, times(1)).findProjectedByName("Sample Widget");
   }
 
   @Test
   public  void getWidgetByName_notFound() {
     // Arrange
-    when(widgetRepository.findByName("NonExistent")).thenReturn(Optional.empty());
+    when(widgetRepository.findProjectedByName("NonExistent")).thenReturn(Optional.empty());
 
     IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
             widgetService.getWidgetByName("NonExistent"));
 
     assertEquals("Widget not found", exception.getMessage());
-    verify(widgetRepository, times(1)).findByName("NonExistent");
+    verify(widgetRepository, times(1)).findProjectedByName("NonExistent");
+  }
+
+  @Test
+  public void getWidgetByName_servedFromCacheOnRepeat() {
+    // Arrange
+    when(widgetRepository.findProjectedByName("Sample Widget")).thenReturn(Optional.of(sampleWidgetDTO));
+
+    // Act
+    widgetService.getWidgetByName("Sample Widget");
+    WidgetDTO second = widgetService.getWidgetByName("Sample Widget");
+
+    // Assert
+    assertEquals("Sample Widget", second.getName());
+    verify(widgetRepository, times(1)).findProjectedByName("Sample Widget");
+  }
+
+  @Test
+  public void getCurrentWidget_readsPastTheCache() {
+    // Arrange
+    when(widgetRepository.findProjectedByName("Sample Widget")).thenReturn(Optional.of(sampleWidgetDTO));
+    widgetService.getWidgetByName("Sample Widget");
+
+    // Act
+    WidgetDTO current = widgetService.getCurrentWidget("Sample Widget");
+
+    // Assert
+    assertEquals("Sample Widget", current.getName());
+    verify(widgetRepository, times(2)).findProjectedByName("Sample Widget");
+  }
+
+  @Test
+  public void getWidgetByName_notFoundIsNotCached() {
+    // Arrange
+    when(widgetRepository.findProjectedByName("NonExistent")).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> widgetService.getWidgetByName("NonExistent"));
+    assertThrows(IllegalArgumentException.class, () -> widgetService.getWidgetByName("NonExistent"));
+    verify(widgetRepository, times(2)).findProjectedByName("NonExistent");
   }
 
 //  @Test
@@ -129,8 +391,7 @@ public class WidgetServiceTests {
   @Test
   public void createWidget_success() {
     // Arrange
-    when(widgetRepository.existsByName("Sample Widget")).thenReturn(false);
-    when(widgetRepository.save(any(Widget.class))).thenReturn(sampleWidget);
+    when(widgetRepository.saveAndFlush(any(Widget.class))).thenReturn(sampleWidget);
 
     // Act
     WidgetDTO result = widgetService.createWidget(sampleWidgetDTO);
@@ -139,21 +400,20 @@ public class WidgetServiceTests {
     assertNotNull(result);
     assertEquals("Sample Widget", result.getName());
     assertEquals(new BigDecimal("99.99"), result.getPrice());
-    verify(widgetRepository, times(1)).existsByName("Sample Widget");
-    verify(widgetRepository, times(1)).save(any(Widget.class));
+    verify(widgetRepository, never()).existsByName(anyString());
+    verify(widgetRepository, times(1)).saveAndFlush(any(Widget.class));
   }
 
   @Test
   public  void createWidget_duplicateName() {
     // Arrange
-    when(widgetRepository.existsByName("Sample Widget")).thenReturn(true);
+    when(widgetRepository.saveAndFlush(any(Widget.class))).thenThrow(nameConflict());
 
     // Act & Assert
     WidgetAlreadyExistsException exception = assertThrows(WidgetAlreadyExistsException.class, () ->
             widgetService.createWidget(sampleWidgetDTO));
     assertEquals("Widget with name 'Sample Widget' already exists.", exception.getMessage());
-    verify(widgetRepository, times(1)).existsByName("Sample Widget");
-    verify(widgetRepository, never()).save(any(Widget.class));
+    verify(widgetRepository, never()).existsByName(anyString());
   }
 
   @Test
@@ -165,24 +425,119 @@ public class WidgetServiceTests {
             .description("Valid description.")
             .price(new BigDecimal("100.00"))
             .build();
-    when(widgetRepository.existsByName(longName)).thenReturn(false);
-    when(widgetRepository.save(any(Widget.class))).thenReturn(toEntity(boundaryWidget));
+    when(widgetRepository.saveAndFlush(any(Widget.class))).thenReturn(toEntity(boundaryWidget));
 
     // Act
     WidgetDTO result = widgetService.createWidget(boundaryWidget);
 
     // Assert
     assertEquals(longName, result.getName());
-    verify(widgetRepository, times(1)).existsByName(longName);
-    verify(widgetRepository, times(1)).save(any(Widget.class));
+    verify(widgetRepository, times(1)).saveAndFlush(any(Widget.class));
+  }
+
+  // bulkCreateWidgets
+  @Test
+  public void bulkCreateWidgets_reportsPerItemOutcome() {
+    // Arrange
+    WidgetDTO fresh = WidgetDTO.builder()
+            .name("Fresh Widget")
+            .description("A brand new widget.")
+            .price(new BigDecimal("10.00"))
+            .build();
+    WidgetDTO duplicateInRequest = WidgetDTO.builder()
+            .name("Fresh Widget")
+            .description("Same name again.")
+            .price(new BigDecimal("11.00"))
+            .build();
+    when(validator.validate(any(WidgetDTO.class))).thenReturn(Set.of());
+    when(widgetRepository.findExistingNames(List.of("Sample Widget", "Fresh Widget")))
+            .thenReturn(Set.of("Sample Widget"));
+
+    // Act
+    WidgetBulkResult result = widgetService.bulkCreateWidgets(List.of(sampleWidgetDTO, fresh, duplicateInRequest));
+
+    // Assert
+    assertEquals(1, result.getCreated());
+    assertEquals(2, result.getConflicts());
+    assertEquals(0, result.getInvalid());
+    assertEquals(WidgetBulkItemResult.Status.CONFLICT, result.getResults().get(0).getStatus());
+    assertEquals(WidgetBulkItemResult.Status.CREATED, result.getResults().get(1).getStatus());
+    assertEquals(WidgetBulkItemResult.Status.CONFLICT, result.getResults().get(2).getStatus());
+    verify(widgetRepository, times(1)).findExistingNames(any());
+    verify(widgetRepository, never()).existsByName(anyString());
+    verify(widgetRepository, times(1)).saveAll(any());
+    verify(widgetRepository, times(1)).flush();
+  }
+
+  @Test
+  public void bulkUpsertWidgets_updatesExistingAndCreatesTheRest() {
+    // Arrange
+    WidgetDTO fresh = WidgetDTO.builder()
+            .name("Fresh Widget")
+            .description("A brand new widget.")
+            .price(new BigDecimal("10.00"))
+            .build();
+    WidgetDTO repriced = WidgetDTO.builder()
+            .name("Sample Widget")
+            .price(new BigDecimal("120.00"))
+            .build();
+    when(validator.validate(any(WidgetDTO.class))).thenReturn(Set.of());
+    when(widgetRepository.findByNameIn(List.of("Sample Widget", "Fresh Widget"))).thenReturn(List.of(sampleWidget));
+    when(syncSequence.next(2)).thenReturn(20L);
+
+    // Act
+    WidgetBulkResult result = widgetService.bulkUpsertWidgets(List.of(repriced, fresh));
+
+    // Assert
+    assertEquals(1, result.getCreated());
+    assertEquals(1, result.getUpdated());
+    assertEquals(WidgetBulkItemResult.Status.UPDATED, result.getResults().get(0).getStatus());
+    assertEquals(WidgetBulkItemResult.Status.CREATED, result.getResults().get(1).getStatus());
+    assertEquals(new BigDecimal("120.00"), sampleWidget.getPrice());
+    assertEquals("A sample widget for testing.", sampleWidget.getDescription());
+    assertEquals(21L, sampleWidget.getModSeq());
+    verify(widgetRepository, never()).findExistingNames(any());
+    verify(eventPublisher, times(2)).publishEvent(any(WidgetChangedEvent.class));
+  }
+
+  @Test
+  public void bulkCreateWidgets_tooManyItems() {
+    List<WidgetDTO> tooMany = java.util.Collections.nCopies(WidgetService.MAX_BULK_ITEMS + 1, sampleWidgetDTO);
+
+    assertThrows(InvalidRequestException.class, () -> widgetService.bulkCreateWidgets(tooMany));
+    verify(widgetRepository, never()).saveAll(any());
+  }
+
+  @Test
+  public void createWidget_otherIntegrityViolationPropagates() {
+    // Arrange
+    DataIntegrityViolationException notNull = new DataIntegrityViolationException("not null",
+            new ConstraintViolationException("not null", new SQLException("not null", "23502"), "price"));
+    when(widgetRepository.saveAndFlush(any(Widget.class))).thenThrow(notNull);
+
+    // Act & Assert
+    assertThrows(DataIntegrityViolationException.class, () -> widgetService.createWidget(sampleWidgetDTO));
+  }
+
+  @Test
+  public void createWidget_primaryKeyCollisionIsNotANameConflict() {
+    // Arrange
+    DataIntegrityViolationException primaryKey = new DataIntegrityViolationException("duplicate",
+            new ConstraintViolationException("duplicate", new SQLException("duplicate", "23505"),
+                    "PUBLIC.PRIMARY_KEY_9"));
+    when(widgetRepository.saveAndFlush(any(Widget.class))).thenThrow(primaryKey);
+
+    // Act & Assert
+    assertThrows(DataIntegrityViolationException.class, () -> widgetService.createWidget(sampleWidgetDTO));
   }
 
   // updateWidget
   @Test
   public void updateWidget_success_bothFields() {
     // Arrange
-    when(widgetRepository.findByName("Sample Widget")).thenReturn(Optional.of(sampleWidget));
-    when(widgetRepository.save(any(Widget.class))).thenReturn(sampleWidget);
+    when(syncSequence.next(1)).thenReturn(5L);
+    when(widgetRepository.updateReturning("Sample Widget", null, "A sample widget for testing.",
+            new BigDecimal("99.99"), 5L)).thenReturn(Optional.of(sampleWidgetDTO));
 
     // Act
     WidgetDTO result = widgetService.updateWidget("Sample Widget", sampleWidgetDTO);
@@ -190,52 +545,94 @@ public class WidgetServiceTests {
     // Assert
     assertEquals("A sample widget for testing.", result.getDescription());
     assertEquals(new BigDecimal("99.99"), result.getPrice());
-    verify(widgetRepository, times(1)).findByName("Sample Widget");
-    verify(widgetRepository, times(1)).save(any(Widget.class));
+    verify(widgetRepository, never()).findByName(anyString());
+    verify(widgetRepository, never()).findProjectedByName(anyString());
+    verify(widgetRepository, never()).save(any(Widget.class));
+    verify(eventPublisher).publishEvent(any(WidgetChangedEvent.class));
   }
 
   @Test
   public void updateWidget_success_partialUpdate() {
     // Arrange
-    when(widgetRepository.findByName("Sample Widget")).thenReturn(Optional.of(sampleWidget));
-    when(widgetRepository.save(any(Widget.class))).thenReturn(sampleWidget);
+    WidgetDTO priceOnly = WidgetDTO.builder()
+            .name("Sample Widget")
+            .price(new BigDecimal("49.99"))
+            .build();
+    WidgetDTO stored = toDTO(sampleWidget);
+    stored.setPrice(new BigDecimal("49.99"));
+    when(syncSequence.next(1)).thenReturn(5L);
+    when(widgetRepository.updateReturning("Sample Widget", null, null, new BigDecimal("49.99"), 5L))
+            .thenReturn(Optional.of(stored));
 
     // Act
-    WidgetDTO result = widgetService.updateWidget("Sample Widget", sampleWidgetDTO);
+    WidgetDTO result = widgetService.updateWidget("Sample Widget", priceOnly);
 
     // Assert
-    assertEquals("A sample widget for testing.", result.getDescription());
-    assertEquals(new BigDecimal("99.99"), result.getPrice()); // Unchanged
-    verify(widgetRepository, times(1)).findByName("Sample Widget");
-    verify(widgetRepository, times(1)).save(any(Widget.class));
+    assertEquals("A sample widget for testing.", result.getDescription()); // Unchanged
+    assertEquals(new BigDecimal("49.99"), result.getPrice());
   }
 
   @Test
   public void updateWidget_notFound() {
     // Arrange
-    when(widgetRepository.findByName("NonExistent")).thenReturn(Optional.empty());
+    when(widgetRepository.updateReturning(eq("NonExistent"), any(), any(), any(), anyLong()))
+            .thenReturn(Optional.empty());
 
     // Act & Assert
     IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
             widgetService.updateWidget("NonExistent", sampleWidgetDTO));
     assertEquals("Widget not found", exception.getMessage());
-    verify(widgetRepository, times(1)).findByName("NonExistent");
-    verify(widgetRepository, never()).save(any(Widget.class));
+    verify(widgetRepository, never()).existsByName(anyString());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
   public void updateWidget_boundaryPrice() {
     // Arrange
-    when(widgetRepository.findByName("Sample Widget")).thenReturn(Optional.of(sampleWidget));
-    when(widgetRepository.save(any(Widget.class))).thenReturn(sampleWidget);
+    sampleWidgetDTO.setPrice(new BigDecimal("20000.00"));
+    when(widgetRepository.updateReturning(eq("Sample Widget"), any(), any(), eq(new BigDecimal("20000.00")), anyLong()))
+            .thenReturn(Optional.of(sampleWidgetDTO));
 
     // Act
     WidgetDTO result = widgetService.updateWidget("Sample Widget", sampleWidgetDTO);
 
     // Assert
-    assertEquals(new BigDecimal("99.99"), result.getPrice());
-    verify(widgetRepository, times(1)).findByName("Sample Widget");
-    verify(widgetRepository, times(1)).save(any(Widget.class));
+    assertEquals(new BigDecimal("20000.00"), result.getPrice());
+  }
+
+  @Test
+  public void updateWidget_checksTheVersionInTheUpdate() {
+    // Arrange
+    sampleWidgetDTO.setVersion(3L);
+    when(syncSequence.next(1)).thenReturn(5L);
+    when(widgetRepository.updateReturning("Sample Widget", 3L, "A sample widget for testing.",
+            new BigDecimal("99.99"), 5L)).thenReturn(Optional.of(sampleWidgetDTO));
+
+    // Act
+    widgetService.updateWidget("Sample Widget", sampleWidgetDTO);
+
+    // Assert
+    verify(widgetRepository, times(1)).updateReturning(any(), any(), any(), any(), anyLong());
+    verify(widgetRepository, never()).existsByName(anyString());
+  }
+
+  @Test
+  public void updateWidget_versionMismatch() {
+    // Arrange
+    WidgetDTO staleDTO = WidgetDTO.builder()
+            .name("Sample Widget")
+            .description("Stale edit.")
+            .price(new BigDecimal("10.00"))
+            .version(2L)
+            .build();
+    when(widgetRepository.updateReturning(eq("Sample Widget"), eq(2L), any(), any(), anyLong()))
+            .thenReturn(Optional.empty());
+    when(widgetRepository.existsByName("Sample Widget")).thenReturn(true);
+
+    // Act & Assert
+    assertThrows(WidgetVersionMismatchException.class, () ->
+            widgetService.updateWidget("Sample Widget", staleDTO));
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   // deleteWidget
@@ -243,13 +640,143 @@ public class WidgetServiceTests {
   void deleteWidget_existingName_deletesSuccessfully() {
     // Arrange
     String name = "SampleWidget";
-    when(widgetRepository.existsByName(name)).thenReturn(true);
+    when(widgetRepository.deleteByName(name)).thenReturn(1);
 
     // Act
     widgetService.deleteWidget(name);
 
     // Assert
     verify(widgetRepository, times(1)).deleteByName(name);
+    ArgumentCaptor<WidgetChangedEvent> event = ArgumentCaptor.forClass(WidgetChangedEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(WidgetChangedEvent.Type.DELETED, event.getValue().getType());
+    assertEquals(name, event.getValue().getName());
+  }
+
+  @Test
+  public void deleteWidget_writesATombstone() {
+    // Arrange
+    when(widgetRepository.deleteByName("Sample Widget")).thenReturn(1);
+    when(syncSequence.next(1)).thenReturn(7L);
+
+    // Act
+    widgetService.deleteWidget("Sample Widget");
+
+    // Assert
+    ArgumentCaptor<WidgetTombstone> tombstone = ArgumentCaptor.forClass(WidgetTombstone.class);
+    verify(tombstoneRepository).save(tombstone.capture());
+    assertEquals("Sample Widget", tombstone.getValue().getName());
+    assertEquals(7L, tombstone.getValue().getModSeq());
+  }
+
+  // bulkUpdateWidgets / bulkDeleteWidgets
+  @Test
+  public void bulkUpdateWidgets_dryRunWritesNothing() {
+    // Arrange
+    when(widgetRepository.findTop(any(), any(), eq(WidgetService.MAX_BULK_ITEMS + 1), eq(false)))
+            .thenReturn(List.of(selected(3L, "Gear A", "10.00"), selected(7L, "Gear B", "12.00")));
+    WidgetBulkUpdate request = WidgetBulkUpdate.builder()
+            .filter(WidgetFilter.builder().namePrefix("Gear").build())
+            .priceFactor(new BigDecimal("1.05"))
+            .dryRun(true)
+            .build();
+
+    // Act
+    WidgetBulkChangeResult result = widgetService.bulkUpdateWidgets(request);
+
+    // Assert
+    assertTrue(result.isDryRun());
+    assertEquals(2, result.getMatched());
+    assertEquals(0, result.getAffected());
+    assertEquals(List.of("Gear A", "Gear B"), result.getNames());
+    verify(widgetRepository, never()).updateByIdIn(any(), any(), any(), any(), any(), any(), anyLong());
+    verify(eventPublisher, never()).publishEvent(any());
+  }
+
+  @Test
+  public void bulkUpdateWidgets_rejectsPricesOutsideTheConstraints() {
+    // Arrange
+    when(widgetRepository.findTop(any(), any(), anyInt(), anyBoolean()))
+            .thenReturn(List.of(selected(3L, "Gear A", "10.00"), selected(7L, "Gear B", "19999.00")));
+    WidgetBulkUpdate request = WidgetBulkUpdate.builder()
+            .filter(WidgetFilter.builder().namePrefix("Gear").build())
+            .priceFactor(new BigDecimal("1.10"))
+            .build();
+
+    // Act & Assert
+    InvalidRequestException ex = assertThrows(InvalidRequestException.class,
+            () -> widgetService.bulkUpdateWidgets(request));
+    assertTrue(ex.getMessage().contains("Gear B"));
+    verify(widgetRepository, never()).updateByIdIn(any(), any(), any(), any(), any(), any(), anyLong());
+  }
+
+  @Test
+  public void bulkUpdateWidgets_requiresASelection() {
+    // Arrange
+    WidgetBulkUpdate request = WidgetBulkUpdate.builder().price(new BigDecimal("5.00")).build();
+
+    // Act & Assert
+    assertThrows(InvalidRequestException.class, () -> widgetService.bulkUpdateWidgets(request));
+    verifyNoInteractions(widgetRepository);
+  }
+
+  @Test
+  public void bulkUpdateWidgets_updatesTheSelectedIdsAndPublishes() {
+    // Arrange
+    when(widgetRepository.findTop(any(), any(), anyInt(), anyBoolean()))
+            .thenReturn(List.of(selected(3L, "Gear A", "10.00"), selected(7L, "Gear B", "12.00")));
+    when(syncSequence.next(2)).thenReturn(40L);
+    WidgetBulkUpdate request = WidgetBulkUpdate.builder()
+            .names(List.of("Gear A", "Gear B"))
+            .price(new BigDecimal("15.00"))
+            .build();
+    when(widgetRepository.updateByIdIn(List.of(3L, 7L), null, new BigDecimal("15.00"), BigDecimal.ONE,
+            new BigDecimal("1.00"), new BigDecimal("20000.00"), 40L)).thenReturn(2);
+    when(widgetRepository.findProjectedModifiedBetween(39L, 41L))
+            .thenReturn(List.of(selected(3L, "Gear A", "15.00"), selected(7L, "Gear B", "15.00")));
+
+    // Act
+    WidgetBulkChangeResult result = widgetService.bulkUpdateWidgets(request);
+
+    // Assert
+    assertEquals(2, result.getAffected());
+    assertEquals(List.of("Gear A", "Gear B"), result.getNames());
+    verify(eventPublisher, times(2)).publishEvent(any(WidgetChangedEvent.class));
+    verify(syncSequence).next(2);
+  }
+
+  @Test
+  public void bulkDeleteWidgets_deletesByIdAndWritesTombstones() {
+    // Arrange
+    when(widgetRepository.findTop(any(), any(), anyInt(), anyBoolean()))
+            .thenReturn(List.of(selected(3L, "Gear A", "10.00"), selected(7L, "Gear B", "12.00")));
+    when(syncSequence.next(2)).thenReturn(10L);
+    when(widgetRepository.deleteByIdIn(List.of(3L, 7L))).thenReturn(2);
+
+    // Act
+    WidgetBulkChangeResult result = widgetService.bulkDeleteWidgets(
+            WidgetBulkDelete.builder().filter(WidgetFilter.builder().namePrefix("Gear").build()).build());
+
+    // Assert
+    assertEquals(2, result.getAffected());
+    verify(tombstoneRepository).deleteByNameIn(List.of("Gear A", "Gear B"));
+    ArgumentCaptor<Object> persisted = ArgumentCaptor.forClass(Object.class);
+    verify(entityManager, times(2)).persist(persisted.capture());
+    assertEquals(List.of(10L, 11L), persisted.getAllValues().stream()
+            .map(tombstone -> ((WidgetTombstone) tombstone).getModSeq())
+            .toList());
+    verify(eventPublisher, times(2)).publishEvent(any(WidgetChangedEvent.class));
+  }
+
+  @Test
+  public void deleteWidget_notFoundFromAffectedRows() {
+    // Arrange
+    when(widgetRepository.deleteByName("NonExistent")).thenReturn(0);
+
+    // Act & Assert
+    assertThrows(WidgetNotFoundException.class, () -> widgetService.deleteWidget("NonExistent"));
+    verify(widgetRepository, never()).existsByName(anyString());
+    verify(eventPublisher, never()).publishEvent(any());
   }
 
   @Test
@@ -260,6 +787,63 @@ public class WidgetServiceTests {
     verify(widgetRepository, never()).deleteByName(anyString());
   }
 
+  // getChanges
+  @Test
+  public void getChanges_mergesWritesAndTombstonesInChangeOrder() {
+    // Arrange
+    sampleWidget.setModSeq(3L);
+    Widget laterWidget = Widget.builder().id(2L).name("Later Widget").price(new BigDecimal("5.00")).modSeq(6L).build();
+    when(syncSequence.watermark()).thenReturn(9L);
+    when(widgetRepository.findModifiedBetween(eq(0L), eq(9L), any())).thenReturn(List.of(sampleWidget, laterWidget));
+    when(tombstoneRepository.findWrittenBetween(eq(0L), eq(9L), any()))
+            .thenReturn(List.of(new WidgetTombstone("Gone Widget", 4L, Instant.now())));
+
+    // Act
+    WidgetDelta delta = widgetService.getChanges("", null);
+
+    // Assert
+    assertEquals(List.of("Sample Widget", "Later Widget"), delta.getItems().stream().map(WidgetDTO::getName).toList());
+    assertEquals(List.of("Gone Widget"), delta.getDeleted());
+    assertFalse(delta.isMore());
+    assertEquals(9L, WidgetCursor.decodeSince(delta.getToken()));
+  }
+
+  @Test
+  public void getChanges_fullPageContinuesFromItsLastChange() {
+    // Arrange
+    sampleWidget.setModSeq(3L);
+    Widget laterWidget = Widget.builder().id(2L).name("Later Widget").price(new BigDecimal("5.00")).modSeq(6L).build();
+    when(syncSequence.watermark()).thenReturn(9L);
+    when(widgetRepository.findModifiedBetween(eq(2L), eq(9L), any())).thenReturn(List.of(sampleWidget, laterWidget));
+    when(tombstoneRepository.findWrittenBetween(eq(2L), eq(9L), any()))
+            .thenReturn(List.of(new WidgetTombstone("Gone Widget", 4L, Instant.now())));
+
+    // Act
+    WidgetDelta delta = widgetService.getChanges(WidgetCursor.encodeSince(2L), 2);
+
+    // Assert
+    assertEquals(List.of("Sample Widget"), delta.getItems().stream().map(WidgetDTO::getName).toList());
+    assertEquals(List.of("Gone Widget"), delta.getDeleted());
+    assertTrue(delta.isMore());
+    assertEquals(4L, WidgetCursor.decodeSince(delta.getToken()));
+  }
+
+  @Test
+  public void getChanges_tokenAheadOfTheWatermarkIsExpired() {
+    // Arrange
+    when(syncSequence.watermark()).thenReturn(3L);
+
+    // Act & Assert
+    assertThrows(SyncTokenExpiredException.class, () -> widgetService.getChanges(WidgetCursor.encodeSince(10L), null));
+    verify(widgetRepository, never()).findModifiedBetween(anyLong(), anyLong(), any());
+  }
+
+  private static DataIntegrityViolationException nameConflict() {
+    return new DataIntegrityViolationException("duplicate",
+            new ConstraintViolationException("duplicate", new SQLException("duplicate", "23505"),
+                    "PUBLIC.UK_WIDGETS_NAME_INDEX_4"));
+  }
+
   WidgetDTO toDTO(Widget widget) {
     return WidgetDTO.builder()
             .id(widget.getId())
@@ -276,4 +860,8 @@ public class WidgetServiceTests {
             .price(dto.getPrice())
             .build();
   }
-}
\ No newline at end of file
+
+  private static WidgetDTO selected(long id, String name, String price) {
+    return WidgetDTO.builder().id(id).name(name).price(new BigDecimal(price)).version(0L).build();
+  }
+}
@@ -0,0 +1,78 @@
+package com.talentreef.interviewquestions.takehome.services;
+
+import com.talentreef.interviewquestions.takehome.repositories.WidgetRepository;
+import com.talentreef.interviewquestions.takehome.repositories.WidgetTombstoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class WidgetSyncSequenceTests {
+
+  private WidgetSyncSequence sequence;
+
+  @BeforeEach
+  void setUp() {
+    WidgetRepository widgetRepository = mock(WidgetRepository.class);
+    WidgetTombstoneRepository tombstoneRepository = mock(WidgetTombstoneRepository.class);
+    when(widgetRepository.maxModSeq()).thenReturn(10L);
+    when(tombstoneRepository.maxModSeq()).thenReturn(12L);
+    sequence = new WidgetSyncSequence(widgetRepository, tombstoneRepository);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  public void next_resumesAfterTheStoredMaximum() {
+    // Arrange
+    TransactionSynchronizationManager.initSynchronization();
+
+    // Act
+    long first = sequence.next(3);
+    long second = sequence.next(1);
+
+    // Assert
+    assertEquals(13L, first);
+    assertEquals(16L, second);
+  }
+
+  @Test
+  public void watermark_staysBelowTheOldestOpenTransaction() {
+    // Arrange: two transactions allocate in order, and the later one completes first.
+    TransactionSynchronizationManager.initSynchronization();
+    sequence.next(2);
+    List<TransactionSynchronization> older = complete();
+    TransactionSynchronizationManager.initSynchronization();
+    sequence.next(1);
+    List<TransactionSynchronization> newer = complete();
+
+    // Act & Assert
+    assertEquals(12L, sequence.watermark());
+    newer.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    assertEquals(12L, sequence.watermark());
+    older.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    assertEquals(15L, sequence.watermark());
+  }
+
+  @Test
+  public void next_requiresATransaction() {
+    assertThrows(IllegalStateException.class, () -> sequence.next(1));
+  }
+
+  private static List<TransactionSynchronization> complete() {
+    List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    return synchronizations;
+  }
+}